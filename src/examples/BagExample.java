@@ -6,8 +6,10 @@ import gal4j.algorithm.Engine;
 import gal4j.algorithm.Population;
 import gal4j.chromosome.BinaryChromosome;
 import gal4j.chromosome.AChromosome;
+import gal4j.listener.ConsoleListener;
 import gal4j.operators.crossover.ICrossover;
 import gal4j.operators.crossover.SinglePointCrossOver;
+import gal4j.operators.localsearch.KnapsackLocalSearch;
 import gal4j.operators.mutation.IMutation;
 import gal4j.operators.mutation.SinglePointMutation;
 import gal4j.operators.selection.ASelection;
@@ -45,6 +47,18 @@ public class BagExample {
         engine.setSelectionOperator(selectOp);
         engine.setCrossoverOperatorPR(crossOp);
         engine.setMutationOperatorPR(mutationOp);
+        
+        // repair and improve part of the offspring before evaluation
+        double[] values = new double[bag.items.size()];
+        double[] weights = new double[bag.items.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = bag.items.get(i).value;
+            weights[i] = bag.items.get(i).weight;
+        }
+        engine.setLocalSearch(new KnapsackLocalSearch(values, weights, bag.maxWeight));
+
+        // print progress of the run
+        engine.addListener(new ConsoleListener(10));
 
         // initialize population
         engine.initializePopulation();
@@ -0,0 +1,74 @@
+package examples;
+
+import java.util.Random;
+
+import gal4j.chromosome.DoubleChromosome;
+import gal4j.operators.crossover.ArithmeticCrossOver;
+import gal4j.operators.crossover.BlendCrossOver;
+import gal4j.operators.crossover.EccentricCrossOver;
+import gal4j.operators.crossover.ICrossover;
+import gal4j.operators.crossover.NoiseReductionCrossOver;
+import gal4j.utils.DoubleKernels;
+
+/**
+ * Compares the scalar and the Vector API kernels of the real-valued crossovers.
+ * Run with --add-modules jdk.incubator.vector, otherwise only the scalar kernels are available.
+ */
+public class DoubleKernelsBenchmark {
+
+	// number of genes of the crossed chromosomes
+	private static final int GENES = 4096;
+	// crossovers measured in one round
+	private static final int CROSSOVERS = 20000;
+
+    public static void main(String[] args) {
+        Random rand = new Random(42);
+        DoubleChromosome parent1 = new DoubleChromosome(GENES, -5.12, 5.12, rand);
+        DoubleChromosome parent2 = new DoubleChromosome(GENES, -5.12, 5.12, rand);
+        parent1.initialize();
+        parent2.initialize();
+
+        ICrossover[] operators = {
+            new NoiseReductionCrossOver(),
+            new EccentricCrossOver(),
+            new BlendCrossOver(0.5, new Random(1)),
+            new ArithmeticCrossOver(0.3)
+        };
+
+        boolean vector = DoubleKernels.isVectorized();
+        System.out.println("Vector API available: " + vector);
+
+        for (ICrossover operator : operators) {
+            DoubleKernels.setVectorized(false);
+            double scalar = measure(operator, parent1, parent2);
+            System.out.printf("%-26s scalar: %8.2f us", operator.getClass().getSimpleName(), scalar);
+
+            if (vector) {
+                DoubleKernels.setVectorized(true);
+                double simd = measure(operator, parent1, parent2);
+                System.out.printf("   vector: %8.2f us   speedup: %.2fx", simd, scalar / simd);
+            }
+            System.out.println();
+        }
+        DoubleKernels.setVectorized(vector);
+    }
+
+    /**
+     * Returns the best average time of one crossover in microseconds from several rounds, the first rounds warm up the JIT.
+     */
+    private static double measure(ICrossover operator, DoubleChromosome parent1, DoubleChromosome parent2) {
+        double best = Double.MAX_VALUE;
+        double checksum = 0;
+        for (int round = 0; round < 10; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < CROSSOVERS; i++) {
+                checksum += ((DoubleChromosome) operator.crossover(parent1, parent2)).getValues()[i & (GENES - 1)];
+            }
+            best = Math.min(best, (System.nanoTime() - start) / 1000.0 / CROSSOVERS);
+        }
+        if (checksum == 42) {
+            System.out.println();
+        }
+        return best;
+    }
+}
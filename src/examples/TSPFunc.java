@@ -3,9 +3,10 @@ package examples;
 import java.util.List;
 
 import gal4j.algorithm.AFitnessFunction;
+import gal4j.algorithm.IEdgeCost;
 import gal4j.chromosome.AChromosome;
 
-public class TSPFunc extends AFitnessFunction {
+public class TSPFunc extends AFitnessFunction implements IEdgeCost {
 	
 	
 	
@@ -37,6 +38,11 @@ public class TSPFunc extends AFitnessFunction {
 	        
 	    }
 
+	 @Override
+	    public double cost(int from, int to) {
+	        return distance(towns.get(from), towns.get(to));
+	    }
+
 	    private double distance(Town a, Town b) {
 	        int dx = a.x - b.x;
 	        int dy = a.y - b.y;
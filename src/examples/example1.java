@@ -8,6 +8,7 @@ import gal4j.algorithm.Config;
 import gal4j.algorithm.Engine;
 import gal4j.algorithm.Population;
 import gal4j.chromosome.AChromosome;
+import gal4j.listener.ConsoleListener;
 import gal4j.chromosome.DecimalChromosome;
 import gal4j.operators.crossover.CyclicCrossOver;
 import gal4j.operators.crossover.ICrossover;
@@ -59,6 +60,9 @@ public class example1 {
 		engine.setMutationOperatorPR(mutationOp);
 		
 	
+		// print progress of the run
+		engine.addListener(new ConsoleListener(10));
+
 		// initialize population
 		engine.initializePopulation();
 		
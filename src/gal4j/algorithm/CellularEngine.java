@@ -0,0 +1,529 @@
+package gal4j.algorithm;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.listener.GenerationEvent;
+import gal4j.listener.IGenerationListener;
+import gal4j.operators.crossover.ICrossover;
+import gal4j.operators.crossover.IFusedCrossover;
+import gal4j.operators.mutation.IMutation;
+import gal4j.operators.mutation.NonUniformMutation;
+import gal4j.utils.Checker;
+import gal4j.utils.FitnessSummary;
+import gal4j.utils.Sampling;
+
+/**
+ * CellularEngine runs a cellular genetic algorithm. Individuals are placed on a two dimensional
+ * toroidal grid and every cell selects its parents only from its local neighborhood, so one
+ * selection costs O(neighborhood) instead of scanning the whole population.
+ *
+ * The grid is split into horizontal tiles which are updated in parallel. In synchronous mode
+ * the next generation is written into a second buffer, in asynchronous mode cells are replaced
+ * in place during the sweep. A cell reads the rows next to it, so in asynchronous mode with more
+ * tiles every tile first sweeps its inner rows, then all tiles sweep their first rows and then their
+ * last rows, with a barrier between these phases. A tile never reads a row that another tile is writing
+ * and the rows written by other tiles are read only after the barrier, every tile has at least two rows.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class CellularEngine {
+
+	/**
+	 * Shape of the neighborhood used for mate selection.
+	 */
+	public enum Neighborhood {
+		/** The cell and its four direct neighbors (L5) */
+		VON_NEUMANN(new int[] { 0, 0, -1, 0, 1, 0, 0, -1, 0, 1 }),
+		/** The cell and all eight surrounding neighbors (C9) */
+		MOORE(new int[] { 0, 0, -1, 0, 1, 0, 0, -1, 0, 1, -1, -1, 1, -1, -1, 1, 1, 1 });
+
+		/** Pairs of (dx, dy) offsets */
+		private final int[] offsets;
+
+		Neighborhood(int[] offsets) {
+			this.offsets = offsets;
+		}
+	}
+
+	// Configuration object for the genetic algorithm
+	private Config config;
+
+	// Fitness function that evaluates the fitness of chromosomes on the grid
+	private AFitnessFunction fitness;
+
+	// Default chromosome used to generate new chromosomes during grid initialization
+	private AChromosome<?> defChromosome;
+
+	// Crossover operator used for recombination of the two local parents
+	private ICrossover crossoverOperator;
+
+	// Mutation operator applied to offspring
+	private IMutation mutationOperator;
+
+	// Width of the grid
+	private final int width;
+
+	// Height of the grid
+	private final int height;
+
+	// Current generation of the grid, stored row by row
+	private AChromosome<?>[] grid;
+
+	// Buffer for the next generation used in synchronous mode
+	private AChromosome<?>[] next;
+
+	// Neighborhood used for selecting parents
+	private Neighborhood neighborhood = Neighborhood.VON_NEUMANN;
+
+	// Whether the grid is updated synchronously (double buffered) or asynchronously (in place)
+	private boolean synchronous = true;
+
+	// Random object used for seeding the generators of the individual tiles
+	private final Random rand;
+
+	// Number of the current generation
+	private int generation = 0;
+
+	// Flag indicating whether the grid has been initialized
+	private boolean ready = false;
+
+	// Listeners notified about every evaluated generation and the end of the run
+	private final List<IGenerationListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Constructs the CellularEngine instance. The population size in the configuration
+	 * is overwritten by the size of the grid.
+	 *
+	 * @param config         the configuration object
+	 * @param fitness        the fitness function
+	 * @param defChromosome  the default chromosome used to generate the grid
+	 * @param width          number of columns of the grid
+	 * @param height         number of rows of the grid
+	 */
+	public CellularEngine(Config config, AFitnessFunction fitness, AChromosome<?> defChromosome, int width, int height) {
+		if (width <= 0 || height <= 0) {
+			throw new IllegalArgumentException("Grid dimensions must be positive: " + width + "x" + height);
+		}
+		if (fitness == null) {
+			throw new IllegalArgumentException("Fittness function is missing.");
+		}
+		if (defChromosome == null) {
+			throw new IllegalArgumentException("Default chromosome is missing.");
+		}
+
+		this.config = config;
+		this.fitness = fitness;
+		this.defChromosome = defChromosome;
+		this.width = width;
+		this.height = height;
+		this.rand = new Random();
+
+		config.setPopulationSize(width * height);
+		new Checker().checkConfig(config);
+	}
+
+	/**
+	 * Initializes every cell of the grid using the default chromosome template and evaluates it.
+	 */
+	public void initializeGrid() {
+		grid = new AChromosome<?>[width * height];
+		next = new AChromosome<?>[width * height];
+
+		for (int i = 0; i < grid.length; i++) {
+			AChromosome<?> chromosome = defChromosome.clone();
+			chromosome.initialize();
+			grid[i] = chromosome;
+		}
+
+		runTiles(false);
+		generation = 0;
+		ready = true;
+	}
+
+	/**
+	 * Executes the cellular genetic algorithm until an end condition is met
+	 * or the maximum number of generations is reached.
+	 * Listeners are notified after every evaluated generation and when the run ends. Offspring are evaluated
+	 * while they are bred, so the time of a sweep is reported as the breeding phase.
+	 */
+	public void run() {
+		if (crossoverOperator == null) {
+			throw new NullPointerException("Crossover operator is missing.");
+		}
+		if (mutationOperator == null) {
+			throw new NullPointerException("Mutation operator is missing.");
+		}
+
+		if (!ready) {
+			initializeGrid();
+		}
+		for (IGenerationListener listener : listeners) {
+			listener.onStart(config);
+		}
+
+		long runStart = System.nanoTime();
+		// the grid was evaluated when it was initialized
+		long evaluations = grid.length;
+		long[] phaseNanos = new long[GenerationEvent.Phase.values().length];
+		GenerationEvent event = null;
+		String reason = "Maximum number of generations is reached";
+
+		while (true) {
+			event = fireGeneration(evaluations, phaseNanos, runStart);
+			if (checkEndConditions()) {
+				reason = "End condition is fullfiled";
+				break;
+			}
+			if (generation >= config.getGenetarions()) {
+				break;
+			}
+
+			long sweepStart = System.nanoTime();
+			runTiles(true);
+			phaseNanos[GenerationEvent.Phase.BREEDING.ordinal()] = System.nanoTime() - sweepStart;
+			evaluations += grid.length;
+
+			if (synchronous) {
+				AChromosome<?>[] temp = grid;
+				grid = next;
+				next = temp;
+			}
+
+			if (mutationOperator instanceof NonUniformMutation) {
+				((NonUniformMutation) mutationOperator).nextGeneration();
+			}
+
+			generation++;
+		}
+
+		for (IGenerationListener listener : listeners) {
+			listener.onFinish(event, reason);
+		}
+	}
+
+	/**
+	 * Notifies the listeners about the current grid.
+	 *
+	 * @return the event passed to the listeners, null if there are no listeners
+	 */
+	private GenerationEvent fireGeneration(long evaluations, long[] phaseNanos, long runStart) {
+		if (listeners.isEmpty()) {
+			return null;
+		}
+		FitnessSummary summary = new FitnessSummary();
+		for (AChromosome<?> chromosome : grid) {
+			summary.add(chromosome.getFitness());
+		}
+		GenerationEvent event = new GenerationEvent(generation, summary, evaluations, phaseNanos, System.nanoTime() - runStart);
+		for (IGenerationListener listener : listeners) {
+			listener.onGeneration(event);
+		}
+		return event;
+	}
+
+	/**
+	 * Splits the grid into horizontal tiles and processes them in parallel.
+	 *
+	 * @param breed true to breed a new generation, false to only evaluate the current grid
+	 */
+	private void runTiles(boolean breed) {
+		boolean inPlace = breed && !synchronous;
+		// in place sweeps need tiles of at least two rows, so that the first and the last row differ
+		int maxTiles = inPlace ? Math.max(1, height / 2) : height;
+		int tiles = config.isMultithread() ? Math.min(config.getThreads(), maxTiles) : 1;
+		Thread[] threads = new Thread[tiles];
+		CyclicBarrier barrier = inPlace && tiles > 1 ? new CyclicBarrier(tiles) : null;
+
+		for (int t = 0; t < tiles; t++) {
+			int fromRow = t * height / tiles;
+			int toRow = (t + 1) * height / tiles;
+			Random tileRand = new Random(rand.nextLong());
+
+			Runnable task = breed
+					? () -> breedTile(fromRow, toRow, tileRand, barrier)
+					: () -> evaluateTile(fromRow, toRow);
+
+			if (tiles == 1) {
+				task.run();
+				return;
+			}
+			threads[t] = new Thread(task);
+			threads[t].start();
+		}
+
+		for (int t = 0; t < tiles; t++) {
+			try {
+				threads[t].join();
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Evaluates fitness of every cell in the given rows.
+	 */
+	private void evaluateTile(int fromRow, int toRow) {
+		for (int i = fromRow * width; i < toRow * width; i++) {
+			grid[i].setFitness(fitness.calculateFitness(grid[i]));
+		}
+	}
+
+	/**
+	 * Breeds one offspring for every cell of the tile. Without a barrier the rows are swept in order,
+	 * with a barrier the inner rows, the first row and the last row are swept in phases shared by all tiles.
+	 *
+	 * @param barrier the barrier of the in place sweep of more tiles, null otherwise
+	 */
+	private void breedTile(int fromRow, int toRow, Random tileRand, CyclicBarrier barrier) {
+		Tile tile = new Tile(tileRand, config.getMutationRate());
+		if (barrier == null) {
+			breedRows(fromRow, toRow, tile);
+			return;
+		}
+
+		try {
+			breedRows(fromRow + 1, toRow - 1, tile);
+			if (!await(barrier)) {
+				return;
+			}
+			breedRows(fromRow, fromRow + 1, tile);
+			if (!await(barrier)) {
+				return;
+			}
+			breedRows(toRow - 1, toRow, tile);
+		} catch (RuntimeException | Error e) {
+			// the other tiles must not wait for this one forever
+			barrier.reset();
+			throw e;
+		}
+	}
+
+	/**
+	 * Waits for the other tiles of the sweep.
+	 *
+	 * @return false if the sweep was broken by a failure of another tile
+	 */
+	private boolean await(CyclicBarrier barrier) {
+		try {
+			barrier.await();
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			barrier.reset();
+			return false;
+		} catch (BrokenBarrierException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Breeds one offspring for every cell in the given rows. The offspring replaces
+	 * the cell only if it is at least as fit as the current individual.
+	 */
+	private void breedRows(int fromRow, int toRow, Tile tile) {
+		AChromosome<?>[] target = synchronous ? next : grid;
+
+		for (int y = fromRow; y < toRow; y++) {
+			for (int x = 0; x < width; x++) {
+				int cell = y * width + x;
+				AChromosome<?> current = grid[cell];
+
+				AChromosome<?> parent1 = localTournament(x, y, tile.rand);
+				AChromosome<?> parent2 = localTournament(x, y, tile.rand);
+
+				AChromosome<?> child;
+				if (tile.offspring++ == tile.nextMutated) {
+					if (crossoverOperator instanceof IFusedCrossover
+							&& ((IFusedCrossover) crossoverOperator).canFuse(parent1, parent2, mutationOperator)) {
+						child = ((IFusedCrossover) crossoverOperator).crossoverAndMutate(parent1, parent2, mutationOperator);
+					} else {
+						child = crossoverOperator.crossover(parent1, parent2);
+						mutationOperator.mutateInPlace(child, null);
+					}
+					tile.nextMutated = Sampling.nextIndex(tile.rand, tile.rate, tile.nextMutated);
+				} else {
+					child = crossoverOperator.crossover(parent1, parent2);
+				}
+				child.setFitness(fitness.calculateFitness(child));
+
+				target[cell] = child.getFitness() >= current.getFitness() ? child : current;
+			}
+		}
+	}
+
+	/**
+	 * Binary tournament between two random members of the neighborhood of the cell.
+	 *
+	 * @param x    column of the cell
+	 * @param y    row of the cell
+	 * @param rand random generator of the tile
+	 * @return the fitter of the two competitors
+	 */
+	private AChromosome<?> localTournament(int x, int y, Random rand) {
+		AChromosome<?> first = neighbor(x, y, rand.nextInt(neighborhood.offsets.length / 2));
+		AChromosome<?> second = neighbor(x, y, rand.nextInt(neighborhood.offsets.length / 2));
+		return first.getFitness() >= second.getFitness() ? first : second;
+	}
+
+	/**
+	 * Returns the k-th neighbor of the cell, wrapping around the edges of the grid.
+	 */
+	private AChromosome<?> neighbor(int x, int y, int k) {
+		int nx = x + neighborhood.offsets[2 * k];
+		int ny = y + neighborhood.offsets[2 * k + 1];
+
+		if (nx < 0) {
+			nx += width;
+		} else if (nx >= width) {
+			nx -= width;
+		}
+		if (ny < 0) {
+			ny += height;
+		} else if (ny >= height) {
+			ny -= height;
+		}
+		return grid[ny * width + nx];
+	}
+
+	/**
+	 * Checks whether the best fitness on the grid is within an acceptable range of the target.
+	 *
+	 * @return true if the end condition is fulfilled, false otherwise
+	 */
+	public boolean checkEndConditions() {
+		double fitP = config.getApproximateFinalFit() + config.getDelta();
+		double fitN = config.getApproximateFinalFit() - config.getDelta();
+		double best = getBestChromosome().getFitness();
+
+		return (fitN < best && best < fitP) || best == fitN || best == fitP;
+	}
+
+	/**
+	 * @return the chromosome with the highest fitness on the grid
+	 */
+	public AChromosome<?> getBestChromosome() {
+		AChromosome<?> best = grid[0];
+		for (int i = 1; i < grid.length; i++) {
+			if (grid[i].getFitness() > best.getFitness()) {
+				best = grid[i];
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Creates a population view of the current grid, ordered row by row.
+	 *
+	 * @return a new population containing the chromosomes of the grid
+	 */
+	public Population getPopulation() {
+		Population population = new Population(generation);
+		for (int i = 0; i < grid.length; i++) {
+			population.addChromosome(grid[i]);
+		}
+		return population;
+	}
+
+	/**
+	 * Returns the chromosome placed in the given cell.
+	 *
+	 * @param x column of the cell
+	 * @param y row of the cell
+	 * @return the chromosome in the cell
+	 */
+	public AChromosome<?> getCell(int x, int y) {
+		return grid[y * width + x];
+	}
+
+	/**
+	 * State of the sweep of one tile kept between its phases.
+	 */
+	private static final class Tile {
+
+		/** Random generator of the tile */
+		final Random rand;
+		/** Mutation rate */
+		final double rate;
+		/** Offspring of the tile are counted from 0 */
+		int offspring = 0;
+		/** Index of the next mutated offspring, found by geometric skips */
+		int nextMutated;
+
+		Tile(Random rand, double rate) {
+			this.rand = rand;
+			this.rate = rate;
+			this.nextMutated = Sampling.nextIndex(rand, rate, -1);
+		}
+	}
+
+	// Setters and getters
+
+	/**
+	 * Adds a listener notified about every evaluated generation. Slow listeners should be wrapped into
+	 * {@link gal4j.listener.AsyncGenerationListener}.
+	 *
+	 * @param listener the listener to add
+	 */
+	public void addListener(IGenerationListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(IGenerationListener listener) {
+		listeners.remove(listener);
+	}
+
+	public void setCrossoverOperator(ICrossover crossoverOperator) {
+		this.crossoverOperator = crossoverOperator;
+	}
+
+	public void setMutationOperator(IMutation mutationOperator) {
+		this.mutationOperator = mutationOperator;
+	}
+
+	public void setNeighborhood(Neighborhood neighborhood) {
+		this.neighborhood = neighborhood;
+	}
+
+	public void setSynchronous(boolean synchronous) {
+		this.synchronous = synchronous;
+	}
+
+	public ICrossover getCrossoverOperator() {
+		return crossoverOperator;
+	}
+
+	public IMutation getMutationOperator() {
+		return mutationOperator;
+	}
+
+	public Neighborhood getNeighborhood() {
+		return neighborhood;
+	}
+
+	public boolean isSynchronous() {
+		return synchronous;
+	}
+
+	public int getGeneration() {
+		return generation;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public Config getConfig() {
+		return config;
+	}
+}
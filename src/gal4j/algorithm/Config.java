@@ -42,6 +42,15 @@ public class Config {
 	/** Probability (0.0–1.0) of using a secondary operator (alternate crossover and mutation) */
 	private double secondOperatorRate = 0;
 
+	/** Whether debugging checks, such as duplicate instances in a population, run every generation */
+	private boolean debug = false;
+
+	/** Proportion (0.0–1.0) of offspring improved by the local search, if one is set */
+	private double localSearchRate = 0;
+
+	/** Whether the evaluation of a generation stops as soon as a fitness within the approximate final fit ± delta is evaluated */
+	private boolean earlyExit = false;
+
 	
 
 	public int getPopulationSize() {
@@ -141,6 +150,36 @@ public class Config {
 	public void setSecondOperatorRate(double secondOperatorRate) {
 		this.secondOperatorRate = secondOperatorRate;
 	}
+
+
+	public boolean isDebug() {
+		return debug;
+	}
+
+
+	public void setDebug(boolean debug) {
+		this.debug = debug;
+	}
+
+
+	public double getLocalSearchRate() {
+		return localSearchRate;
+	}
+
+
+	public void setLocalSearchRate(double localSearchRate) {
+		this.localSearchRate = localSearchRate;
+	}
+
+
+	public boolean isEarlyExit() {
+		return earlyExit;
+	}
+
+
+	public void setEarlyExit(boolean earlyExit) {
+		this.earlyExit = earlyExit;
+	}
 	
 	
 	
@@ -18,6 +18,8 @@ public class DefaultConfig extends Config {
 		setSelectionRate(0.2);
 		setMultithread(true);
 		setThreads(4);
+		setSecondOperatorRate(0.25);
+		setLocalSearchRate(0.1);
 		
 	}
 }
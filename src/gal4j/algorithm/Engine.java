@@ -1,16 +1,39 @@
 package gal4j.algorithm;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import gal4j.chromosome.AChromosome;
 import gal4j.operators.crossover.ICrossover;
+import gal4j.operators.crossover.IFusedCrossover;
 import gal4j.operators.mutation.IMutation;
+import gal4j.io.AGeneCodec;
+import gal4j.io.Checkpoint;
+import gal4j.io.CheckpointWriter;
+import gal4j.io.ICheckpointable;
+import gal4j.listener.GenerationEvent;
+import gal4j.listener.IGenerationListener;
+import gal4j.multithread.EvaluationControl;
+import gal4j.multithread.Master;
+import gal4j.operators.adaptive.AdaptiveOperatorPool;
+import gal4j.operators.localsearch.ILocalSearch;
 import gal4j.operators.mutation.NonUniformMutation;
 import gal4j.operators.selection.ASelection;
+import gal4j.operators.selection.IBatchSelection;
+import gal4j.termination.ITermination;
 import gal4j.utils.Charts;
 import gal4j.utils.Checker;
+import gal4j.utils.FitnessSummary;
+import gal4j.utils.Sampling;
+import gal4j.utils.StatefulRandom;
 
 /**
  * Engine is the core class that runs the genetic algorithm process.
@@ -48,14 +71,54 @@ public class Engine {
 	// Secondary mutation operator used with a certain probability as an alternative to the primary operator
 	private IMutation mutationOperatorSC;
 
-	// Random object used for generating random values in selection, crossover, and mutation processes
-	private final Random rand;
+	// Optional local search applied to a fraction of offspring before evaluation
+	private ILocalSearch localSearch;
+
+	// Adaptive pool of crossover operators, used instead of the primary and secondary crossover if set
+	private AdaptiveOperatorPool<ICrossover> crossoverOperators;
+
+	// Adaptive pool of mutation operators, used instead of the primary and secondary mutation if set
+	private AdaptiveOperatorPool<IMutation> mutationOperators;
+
+	// Operators which produced the offspring of the last generation, rewarded once the offspring are evaluated
+	private final Credits credits = new Credits();
+
+	// Random object used for generating random values in selection, crossover, and mutation processes,
+	// its state is saved in checkpoints
+	private final StatefulRandom rand;
 
 	// Utility class to check various configurations and algorithm settings
 	private Checker check;
 
-	// List that holds the generations of chromosomes for tracking progress and visualizing evolution
-	private List<List<AChromosome<?>>> generations = new ArrayList<>();
+	// Statistics of every generation for tracking progress and visualizing evolution, chromosomes are not kept
+	private RunStatistics statistics = new RunStatistics();
+
+	// Optional termination policy checked after every evaluated generation
+	private ITermination termination;
+
+	// Control shared with the evaluators, stops the run from another thread or at a deadline
+	private final EvaluationControl control = new EvaluationControl();
+
+	// Copy of the best chromosome evaluated during the current run
+	private volatile AChromosome<?> bestChromosome;
+
+	// Listeners notified about every evaluated generation
+	private final List<IGenerationListener> listeners = new CopyOnWriteArrayList<>();
+
+	// Slots of the current population already taken by batch selection
+	private final BitSet selectedSlots = new BitSet();
+
+	// Writer of checkpoints, null if no checkpoints are written
+	private CheckpointWriter checkpointWriter;
+
+	// Every how many generations a checkpoint is written
+	private int checkpointInterval;
+
+	// Codec of the chromosomes in checkpoints
+	private AGeneCodec checkpointCodec;
+
+	// Number of fitness evaluations of the resumed run, negative if the next run is not resumed
+	private long resumedEvaluations = -1;
 
 	// Flag indicating whether the population has been initialized
 	private boolean ready = false;
@@ -73,7 +136,7 @@ public class Engine {
 		this.population = population;
 		this.fitness = fitness;
 		this.defChromosome = defChromosome;
-		this.rand = new Random();
+		this.rand = new StatefulRandom();
 		this.check = new Checker();
 		
 		check.checkEngine(this);
@@ -93,33 +156,135 @@ public class Engine {
 	}
 
 	/**
-	 * Executes the genetic algorithm process until an end condition is met
-	 * or the maximum number of generations is reached.
+	 * Executes the genetic algorithm process until an end condition is met, the termination policy is satisfied,
+	 * the run is stopped or the maximum number of generations is reached.
+	 * Listeners are notified after every evaluated generation and when the run ends.
+	 *
+	 * @return copy of the best chromosome evaluated during the run, null if the run was stopped
+	 *         before any chromosome was evaluated
+	 */
+	public AChromosome<?> run() {
+		control.start();
+		try {
+			return execute();
+		} finally {
+			control.finish();
+		}
+	}
+
+	/**
+	 * Executes the genetic algorithm process like {@link #run()}, but at most for the given time.
+	 * Once the time is spent, no new fitness evaluations are started and the run ends at the next phase boundary.
+	 * A budget shorter than the first evaluation may end the run before any chromosome is evaluated.
+	 *
+	 * @param budget the maximal time of the run
+	 * @return copy of the best chromosome evaluated during the run, null if the budget was spent or the run was stopped
+	 *         before any chromosome was evaluated
+	 */
+	public AChromosome<?> run(Duration budget) {
+		if (budget == null || budget.isNegative()) {
+			throw new IllegalArgumentException("Time budget must not be negative: " + budget);
+		}
+		// budgets of centuries cannot be compared with nanoTime and are the same as no budget
+		if (budget.compareTo(Duration.ofNanos(Long.MAX_VALUE / 2)) >= 0) {
+			control.start();
+		} else {
+			control.start(System.nanoTime() + budget.toNanos());
+		}
+		try {
+			return execute();
+		} finally {
+			control.finish();
+		}
+	}
+
+	/**
+	 * Requests the running algorithm to stop. Can be called from any thread, the evaluators stop dispatching
+	 * new chromosomes immediately and the run ends at the next phase boundary.
+	 * A stop requested before the run starts ends the next run right away, the request is cleared when a run ends.
 	 */
-	public void run() {
+	public void stop() {
+		control.stop();
+	}
+
+	/**
+	 * Runs the generations, the control has to be started.
+	 *
+	 * @return copy of the best chromosome evaluated during the run, null if none was evaluated
+	 */
+	private AChromosome<?> execute() {
 		if (!ready) {
 			// if population is not initialized, intialize it 
 			initializePopulation();
 		}
 
 		check.checkOperators(this, config);
+		// a resumed run continues with the restored state of the termination policy
+		boolean resuming = resumedEvaluations >= 0;
+		if (termination != null && !resuming) {
+			termination.reset();
+		}
+		for (IGenerationListener listener : listeners) {
+			listener.onStart(config);
+		}
+
+		// with early exit the evaluators stop as soon as a result within the end condition arrives
+		if (config.isEarlyExit() && config.getDelta() > 0 && config.getApproximateFinalFit() > 0) {
+			control.setTarget(config.getApproximateFinalFit() - config.getDelta(), config.getApproximateFinalFit() + config.getDelta());
+		} else {
+			control.clearTarget();
+		}
+
+		if (!resuming) {
+			bestChromosome = null;
+		}
+		long runStart = System.nanoTime();
+		long evaluations = resuming ? resumedEvaluations : 0;
+		resumedEvaluations = -1;
+		long[] phaseNanos = new long[GenerationEvent.Phase.values().length];
+		GenerationEvent event = null;
+		String reason = "Maximum number of generations is reached";
+		// whether the fitness values of the current population are up to date, a resumed population is evaluated
+		boolean evaluated = resuming;
 		
-		
-		for (int i = 0; i < config.getGenetarions(); i++) {
+		for (int i = resuming ? population.getGeneration() : 0; i < config.getGenetarions(); i++) {
 			
-			// calculate fitenss values of every individual
-			if (config.isMultithread()) {
-				population.calculateFitPar(fitness, config.getThreads());
+			if (resuming) {
+				// the resumed population was evaluated and recorded before the checkpoint
+				resuming = false;
 			} else {
-				population.calculateFitSeq(fitness);
-			}
+				// calculate fitenss values of every individual
+				long phaseStart = System.nanoTime();
+				int count = evaluate();
+				phaseNanos[GenerationEvent.Phase.EVALUATION.ordinal()] = System.nanoTime() - phaseStart;
+				evaluations += count;
+				updateBest(count);
+				if (count < population.getPopulationSize()) {
+					// the rest of the generation is not needed, the best chromosome so far meets the end condition
+					reason = stopReason();
+					break;
+				}
+				evaluated = true;
+				rewardOperators();
 
-			generations.add(population.getPopulation());
+				statistics.record(population);
+				if (checkpointWriter != null && population.getGeneration() % checkpointInterval == 0) {
+					checkpoint(evaluations);
+				}
+			}
+			event = fireGeneration(evaluations, phaseNanos, runStart);
 
 			// check for end condition
 			if (checkEndConditions()) {
-				System.out.println("End condition is fullfiled");
-				System.out.println("Algorithm is terminating on iteration " + population.getGeneration());
+				reason = "End condition is fullfiled";
+				break;
+			}
+			if (termination != null && termination.isSatisfied(event)) {
+				reason = termination.getReason();
+				break;
+			}
+			if (control.isStopped()) {
+				reason = stopReason();
 				break;
 			}
 			
@@ -127,34 +292,212 @@ public class Engine {
 			Population newPopulation = new Population(i + 1);
 			
 			// perform selection process
+			long phaseStart = System.nanoTime();
 			int parentCount = (int) (population.getPopulationSize() * config.getSelectionRate());
 			selection(population, newPopulation, parentCount);
 			selectionOperator.reset();
+			long selected = System.nanoTime();
+			phaseNanos[GenerationEvent.Phase.SELECTION.ordinal()] = selected - phaseStart;
+			if (control.isStopped()) {
+				reason = stopReason();
+				break;
+			}
+			
+			// create new individuals by crossovers, they are mutated in the same pass
+			breed(population, newPopulation, parentCount);
+			long bred = System.nanoTime();
+			phaseNanos[GenerationEvent.Phase.BREEDING.ordinal()] = bred - selected;
+			if (control.isStopped()) {
+				reason = stopReason();
+				break;
+			}
 			
-			// create new individuals by crossovers
-			crossover(population, newPopulation, parentCount);
+			// apply mutation to the selected parents
+			mutation(newPopulation, 0, parentCount);
+			long mutated = System.nanoTime();
+			phaseNanos[GenerationEvent.Phase.MUTATION.ordinal()] = mutated - bred;
 			
-			// apply mutation
-			mutation(newPopulation);
+			// improve offspring by local search
+			if (localSearch != null) {
+				localSearch(newPopulation, parentCount);
+			}
+			phaseNanos[GenerationEvent.Phase.LOCAL_SEARCH.ordinal()] = System.nanoTime() - mutated;
 
 			newPopulation.setParents();
 			population = newPopulation;
+			evaluated = false;
 			
-			// cheack if there are no same instances in the new population
-			if (population.isSameInstance()) {
-				System.out.println("-----------------------------");
-				System.out.println("Same instances of one chromosome are in one population");
-				System.out.println("Algorithm is terminating on iteration " + population.getGeneration());
-				System.out.println("-----------------------------");
+			// cheack if there are no same instances in the new population (debug mode only)
+			if (config.isDebug() && population.isSameInstance()) {
+				reason = "Same instances of one chromosome are in one population";
 				break;
 			}
 		}
 
+		// the last created population is evaluated, unless the run was stopped
+		if (!evaluated && !control.isStopped()) {
+			long phaseStart = System.nanoTime();
+			int count = evaluate();
+			phaseNanos[GenerationEvent.Phase.EVALUATION.ordinal()] = System.nanoTime() - phaseStart;
+			evaluations += count;
+			updateBest(count);
+			if (count == population.getPopulationSize()) {
+				rewardOperators();
+				event = fireGeneration(evaluations, phaseNanos, runStart);
+			} else {
+				reason = stopReason();
+			}
+		}
+
+		if (checkpointWriter != null) {
+			checkpointWriter.flush();
+		}
+		for (IGenerationListener listener : listeners) {
+			listener.onFinish(event, reason);
+		}
+		return bestChromosome;
+	}
+
+	/**
+	 * Snapshots the evaluated current population and the state of the run and hands it over to the checkpoint writer.
+	 * Only the snapshot is taken here, the file is written by the thread of the writer.
+	 *
+	 * @param evaluations the number of fitness evaluations so far
+	 */
+	private void checkpoint(long evaluations) {
+		try {
+			checkpointWriter.submit(Checkpoint.encode(checkpointCodec, population, evaluations, rand.getState(),
+					bestChromosome, checkpointComponents()));
+		} catch (IOException | RuntimeException e) {
+			// a failing checkpoint must not kill a run which may have been going for hours
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * @return the components whose state is saved in checkpoints, by their names
+	 */
+	private Map<String, ICheckpointable> checkpointComponents() {
+		Map<String, Object> candidates = new LinkedHashMap<>();
+		candidates.put("crossoverPR", crossoverOperatorPR);
+		candidates.put("crossoverSC", crossoverOperatorSC);
+		candidates.put("mutationPR", mutationOperatorPR);
+		candidates.put("mutationSC", mutationOperatorSC);
+		candidates.put("selection", selectionOperator);
+		candidates.put("localSearch", localSearch);
+		if (crossoverOperators != null) {
+			candidates.put("crossoverPool", crossoverOperators);
+			for (int k = 0; k < crossoverOperators.size(); k++) {
+				candidates.put("crossoverPool." + k, crossoverOperators.getOperator(k));
+			}
+		}
+		if (mutationOperators != null) {
+			candidates.put("mutationPool", mutationOperators);
+			for (int k = 0; k < mutationOperators.size(); k++) {
+				candidates.put("mutationPool." + k, mutationOperators.getOperator(k));
+			}
+		}
+		candidates.put("statistics", statistics);
+		candidates.put("termination", termination);
+
+		Map<String, ICheckpointable> components = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> candidate : candidates.entrySet()) {
+			if (candidate.getValue() instanceof ICheckpointable) {
+				components.put(candidate.getKey(), (ICheckpointable) candidate.getValue());
+			}
+		}
+		return components;
+	}
+
+	/**
+	 * Restores the state of a run from a checkpoint, the next {@link #run()} continues from the saved generation.
+	 * The engine has to be configured with the same chromosomes and operators as the checkpointed one,
+	 * operators keep their own random generators, so only the engine draws the same random numbers as before.
+	 *
+	 * @param file the checkpoint file
+	 * @throws IOException if the checkpoint cannot be read or does not fit the engine
+	 */
+	public void resume(Path file) throws IOException {
+		Checkpoint checkpoint = Checkpoint.read(file);
+		AGeneCodec codec = AGeneCodec.forChromosome(defChromosome);
+		if (!codec.equals(checkpoint.getCodec())) {
+			throw new IOException("Chromosomes of the checkpoint do not match the default chromosome.");
+		}
+
+		for (Map.Entry<String, ICheckpointable> component : checkpointComponents().entrySet()) {
+			checkpoint.restore(component.getKey(), component.getValue());
+		}
+		population = checkpoint.getPopulation();
+		bestChromosome = checkpoint.getBest();
+		rand.setState(checkpoint.getRandomState());
+		checkpointCodec = codec;
+		resumedEvaluations = checkpoint.getEvaluations();
+		ready = true;
+	}
+
+	/**
+	 * Calculates fitness values of the current population, in parallel when the configuration is multithreaded.
+	 * The evaluation stops dispatching chromosomes once the run is stopped.
+	 *
+	 * @return the number of evaluated chromosomes, they are the first ones of the population
+	 */
+	private int evaluate() {
 		if (config.isMultithread()) {
-			population.calculateFitPar(fitness, config.getThreads());
-		} else {
-			population.calculateFitSeq(fitness);
+			return population.calculateFitPar(fitness, config.getThreads(), control);
 		}
+		return population.calculateFitSeq(fitness, control);
+	}
+
+	/**
+	 * Keeps a copy of the best of the first evaluated chromosomes of the current population, if it is the best so far.
+	 *
+	 * @param count the number of evaluated chromosomes
+	 */
+	private void updateBest(int count) {
+		AChromosome<?> best = null;
+		for (int j = 0; j < count; j++) {
+			AChromosome<?> chromosome = population.getChromosome(j);
+			if (best == null || chromosome.getFitness() > best.getFitness()) {
+				best = chromosome;
+			}
+		}
+		if (best != null && (bestChromosome == null || best.getFitness() > bestChromosome.getFitness())) {
+			bestChromosome = best.clone();
+			bestChromosome.setFitness(best.getFitness());
+		}
+	}
+
+	/**
+	 * @return description of the reason why the run was stopped
+	 */
+	private String stopReason() {
+		if (control.isTargetReached()) {
+			return "End condition is fullfiled";
+		}
+		return control.isStopRequested() ? "Run was stopped" : "Time budget is spent";
+	}
+
+	/**
+	 * Notifies the listeners about the evaluated current population.
+	 *
+	 * @return the event passed to the listeners, null if there are neither listeners nor a termination policy
+	 */
+	private GenerationEvent fireGeneration(long evaluations, long[] phaseNanos, long runStart) {
+		if (listeners.isEmpty() && termination == null) {
+			return null;
+		}
+		FitnessSummary summary = population.getFitnessSummary();
+		if (summary == null) {
+			summary = new FitnessSummary();
+			for (int j = 0; j < population.getPopulationSize(); j++) {
+				summary.add(population.getChromosome(j).getFitness());
+			}
+		}
+		GenerationEvent event = new GenerationEvent(population.getGeneration(), summary, evaluations, phaseNanos, System.nanoTime() - runStart);
+		for (IGenerationListener listener : listeners) {
+			listener.onGeneration(event);
+		}
+		return event;
 	}
 
 	/**
@@ -167,13 +510,7 @@ public class Engine {
 		double fitN = config.getApproximateFinalFit() - config.getDelta();
 		double best = population.getBestChromosome().getFitness();
 
-		boolean res = (fitN < best && best < fitP) || best == fitN || best == fitP;
-
-		if (res) {
-			System.out.println("best: " + best + ", AFF: " + fitP + ", " + fitN);
-		}
-
-		return res;
+		return (fitN < best && best < fitP) || best == fitN || best == fitP;
 	}
 
 	/**
@@ -189,10 +526,10 @@ public class Engine {
 				graph.showFitnessBarChart(population.getPopulation());
 				break;
 			case "AverageVsMax":
-				graph.showAverageVsMaxFitness(generations);
+				graph.showAverageVsMaxFitness(statistics);
 				break;
 			case "FitnessConvergence":
-				graph.showFitnessConvergenceGraph(generations);
+				graph.showFitnessConvergenceGraph(statistics);
 				break;
 		}
 	}
@@ -200,12 +537,35 @@ public class Engine {
 	
 	/**
 	 * Selects parent chromosomes for reproduction.
+	 * Operators implementing {@link IBatchSelection} select the whole parent pool in one call.
 	 * 
 	 * @param population 	population where are chromosomes selected
 	 * @param newPopulation population to which are selected chromosomes added
 	 * @param parentCount	number of chromosome to be selected
 	 */
 	public void selection(Population population, Population newPopulation, int parentCount) {
+		selectionOperator.prepare(population);
+		
+		if (selectionOperator instanceof IBatchSelection) {
+			int[] indices = ((IBatchSelection) selectionOperator).selectIndices(population, parentCount);
+			
+			// a slot returned more than once is added as a clone to keep instances unique
+			selectedSlots.clear();
+			for (int index : indices) {
+				AChromosome<?> selected = population.getChromosome(index);
+				if (selectedSlots.get(index)) {
+					AChromosome<?> original = selected;
+					selected = original.clone();
+					selected.setFitness(original.getFitness());
+				} else {
+					selectedSlots.set(index);
+				}
+				selected.setParent(true);
+				newPopulation.addChromosome(selected);
+			}
+			return;
+		}
+		
 		for (int j = 0; j < parentCount; j++) {
 			AChromosome<?> selected = selectionOperator.select(population);
 			selected.setParent(true);
@@ -222,28 +582,162 @@ public class Engine {
 			AChromosome<?> parent1 = newPopulation.getChromosome(rand.nextInt(newPopulation.getPopulationSize()));
 			AChromosome<?> parent2 = newPopulation.getChromosome(rand.nextInt(newPopulation.getPopulationSize()));
 
-			if (crossoverOperatorSC != null && Math.random() <= config.getSecondOperatorRate()) {
-				newPopulation.addChromosome(crossoverOperatorSC.crossover(parent1, parent2));
+			newPopulation.addChromosome(chooseCrossover().crossover(parent1, parent2));
+		}
+	}
+
+	/**
+	 * Creates offspring like {@link #crossover} and mutates every offspring chosen for mutation right after it is created,
+	 * while its genes are still in cache. Crossovers implementing {@link IFusedCrossover} mutate the offspring
+	 * within their own pass over the genes when they support the chosen mutation operator.
+	 * Offspring chosen as parents of later offspring are therefore already mutated.
+	 * Operators chosen from adaptive pools are timed and rewarded after the offspring are evaluated.
+	 * 
+	 * @param population 	current population
+	 * @param newPopulation population to which the offspring are added
+	 * @param parentCount	number of selected parents in the new population
+	 */
+	public void breed(Population population, Population newPopulation, int parentCount) {
+		double rate = config.getMutationRate();
+		int nextMutated = Sampling.nextIndex(rand, rate, parentCount - 1);
+
+		boolean adaptive = crossoverOperators != null || mutationOperators != null;
+		double meanFitness = 0;
+		if (adaptive) {
+			credits.clear();
+			for (int j = 0; j < population.getPopulationSize(); j++) {
+				meanFitness += population.getChromosome(j).getFitness();
+			}
+			meanFitness /= population.getPopulationSize();
+		}
+
+		for (int j = parentCount; j < population.getPopulationSize(); j++) {
+			AChromosome<?> parent1 = newPopulation.getChromosome(rand.nextInt(newPopulation.getPopulationSize()));
+			AChromosome<?> parent2 = newPopulation.getChromosome(rand.nextInt(newPopulation.getPopulationSize()));
+
+			int crossoverArm = -1;
+			ICrossover crossoverOperator;
+			if (crossoverOperators != null) {
+				crossoverArm = crossoverOperators.choose();
+				crossoverOperator = crossoverOperators.getOperator(crossoverArm);
+			} else {
+				crossoverOperator = chooseCrossover();
+			}
+
+			long start = adaptive ? System.nanoTime() : 0;
+			long crossoverTime = 0;
+			long mutationTime = 0;
+			int mutationArm = -1;
+
+			AChromosome<?> child;
+			if (j == nextMutated) {
+				IMutation mutationOperator;
+				if (mutationOperators != null) {
+					mutationArm = mutationOperators.choose();
+					mutationOperator = mutationOperators.getOperator(mutationArm);
+				} else {
+					mutationOperator = chooseMutation();
+				}
+
+				if (crossoverOperator instanceof IFusedCrossover
+						&& ((IFusedCrossover) crossoverOperator).canFuse(parent1, parent2, mutationOperator)) {
+					child = ((IFusedCrossover) crossoverOperator).crossoverAndMutate(parent1, parent2, mutationOperator);
+					// a fused pass cannot be split, both operators are charged with its whole time
+					if (adaptive) {
+						crossoverTime = System.nanoTime() - start;
+						mutationTime = crossoverTime;
+					}
+				} else {
+					child = crossoverOperator.crossover(parent1, parent2);
+					long crossed = adaptive ? System.nanoTime() : 0;
+					mutationOperator.mutateInPlace(child, null);
+					if (adaptive) {
+						crossoverTime = crossed - start;
+						mutationTime = System.nanoTime() - crossed;
+					}
+				}
+				nextMutated = Sampling.nextIndex(rand, rate, j);
 			} else {
-				newPopulation.addChromosome(crossoverOperatorPR.crossover(parent1, parent2));
+				child = crossoverOperator.crossover(parent1, parent2);
+				if (adaptive) {
+					crossoverTime = System.nanoTime() - start;
+				}
+			}
+			newPopulation.addChromosome(child);
+
+			if (adaptive && (crossoverArm >= 0 || mutationArm >= 0)) {
+				credits.add(child, parentFitness(parent1, parent2, meanFitness), crossoverArm, crossoverTime, mutationArm, mutationTime);
 			}
 		}
 	}
 
+	/**
+	 * Returns the fitness the offspring of the two parents is compared with, the fitness of the better evaluated parent.
+	 * Parents which are offspring of the same generation are not evaluated yet, the mean fitness is used for them.
+	 */
+	private static double parentFitness(AChromosome<?> parent1, AChromosome<?> parent2, double meanFitness) {
+		double fitness1 = parent1.isParent() ? parent1.getFitness() : meanFitness;
+		double fitness2 = parent2.isParent() ? parent2.getFitness() : meanFitness;
+		return Math.max(fitness1, fitness2);
+	}
+
+	/**
+	 * Rewards the operators of the adaptive pools by the improvements of the evaluated offspring and updates the pools.
+	 */
+	private void rewardOperators() {
+		for (int k = 0; k < credits.count; k++) {
+			double improvement = credits.offspring[k].getFitness() - credits.parentFitness[k];
+			if (credits.crossoverArm[k] >= 0) {
+				crossoverOperators.reward(credits.crossoverArm[k], improvement, credits.crossoverTime[k]);
+			}
+			if (credits.mutationArm[k] >= 0) {
+				mutationOperators.reward(credits.mutationArm[k], improvement, credits.mutationTime[k]);
+			}
+		}
+		credits.clear();
+
+		if (crossoverOperators != null) {
+			crossoverOperators.update();
+		}
+		if (mutationOperators != null) {
+			mutationOperators.update();
+		}
+	}
+
 	/**
 	 * Applies mutation to the chromosomes in the new population.
 	 * 
 	 * @param newPopulation population to be mutated
 	 */
 	public void mutation(Population newPopulation) {
-		for (int j = 0; j < newPopulation.getPopulationSize(); j++) {
-			if (Math.random() <= config.getMutationRate()) {
-				if (mutationOperatorSC != null && Math.random() <= config.getSecondOperatorRate()) {
-					mutationOperatorSC.mutate(newPopulation.getChromosome(j));
-				} else {
-					mutationOperatorPR.mutate(newPopulation.getChromosome(j));
-				}
+		mutation(newPopulation, 0, newPopulation.getPopulationSize());
+	}
+
+	/**
+	 * Applies mutation to the chromosomes of the new population in range [from, to) and advances
+	 * generation dependent mutation operators.
+	 * Mutated chromosomes are found by geometric skips, so only they cost a random draw.
+	 * Operators chosen from the adaptive pool are rewarded by the improvement over the fitness before the mutation.
+	 * 
+	 * @param newPopulation population to be mutated
+	 * @param from			first chromosome which can be mutated
+	 * @param to			chromosome after the last one which can be mutated
+	 */
+	public void mutation(Population newPopulation, int from, int to) {
+		double rate = config.getMutationRate();
+
+		for (int j = Sampling.nextIndex(rand, rate, from - 1); j < to; j = Sampling.nextIndex(rand, rate, j)) {
+			AChromosome<?> chromosome = newPopulation.getChromosome(j);
+			if (mutationOperators == null) {
+				chooseMutation().mutateInPlace(chromosome, null);
+				continue;
 			}
+			// selected parents are evaluated, so the mutation is credited with the change of their own fitness
+			int arm = mutationOperators.choose();
+			double fitness = chromosome.getFitness();
+			long start = System.nanoTime();
+			mutationOperators.getOperator(arm).mutateInPlace(chromosome, null);
+			credits.add(chromosome, fitness, -1, 0, arm, System.nanoTime() - start);
 		}
 
 		if (mutationOperatorPR instanceof NonUniformMutation) {
@@ -252,10 +746,172 @@ public class Engine {
 		if (mutationOperatorSC instanceof NonUniformMutation) {
 			((NonUniformMutation) mutationOperatorSC).nextGeneration();
 		}
+		if (mutationOperators != null) {
+			for (IMutation operator : mutationOperators.getOperators()) {
+				if (operator instanceof NonUniformMutation) {
+					((NonUniformMutation) operator).nextGeneration();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Improves the offspring chosen with the local search rate by the local search.
+	 * The offspring are improved in parallel when the configuration is multithreaded.
+	 * No more offspring are improved once the run is stopped.
+	 * 
+	 * @param newPopulation population with the offspring
+	 * @param parentCount	number of selected parents in the new population, they are not improved
+	 */
+	public void localSearch(Population newPopulation, int parentCount) {
+		int size = newPopulation.getPopulationSize();
+		double rate = config.getLocalSearchRate();
+
+		List<AChromosome<?>> offspring = new ArrayList<>();
+		for (int j = Sampling.nextIndex(rand, rate, parentCount - 1); j < size; j = Sampling.nextIndex(rand, rate, j)) {
+			offspring.add(newPopulation.getChromosome(j));
+		}
+
+		if (config.isMultithread() && offspring.size() > 1) {
+			Master master = new Master(offspring, Math.min(config.getThreads(), offspring.size()), localSearch);
+			master.setControl(control);
+			master.run();
+		} else {
+			for (AChromosome<?> chromosome : offspring) {
+				if (control.isStopped()) {
+					break;
+				}
+				localSearch.improve(chromosome);
+			}
+		}
+	}
+
+	/**
+	 * Chooses the crossover operator for one offspring, from the adaptive pool if set,
+	 * otherwise the secondary one with the second operator rate.
+	 */
+	private ICrossover chooseCrossover() {
+		if (crossoverOperators != null) {
+			return crossoverOperators.getOperator(crossoverOperators.choose());
+		}
+		if (crossoverOperatorSC != null && rand.nextDouble() <= config.getSecondOperatorRate()) {
+			return crossoverOperatorSC;
+		}
+		return crossoverOperatorPR;
+	}
+
+	/**
+	 * Chooses the mutation operator for one chromosome, from the adaptive pool if set,
+	 * otherwise the secondary one with the second operator rate.
+	 */
+	private IMutation chooseMutation() {
+		if (mutationOperators != null) {
+			return mutationOperators.getOperator(mutationOperators.choose());
+		}
+		if (mutationOperatorSC != null && rand.nextDouble() <= config.getSecondOperatorRate()) {
+			return mutationOperatorSC;
+		}
+		return mutationOperatorPR;
+	}
+
+	/**
+	 * Operators used for the offspring of one generation with the fitness of their parents and the time of the operators.
+	 */
+	private static final class Credits {
+		AChromosome<?>[] offspring = new AChromosome<?>[0];
+		double[] parentFitness = new double[0];
+		int[] crossoverArm = new int[0];
+		long[] crossoverTime = new long[0];
+		int[] mutationArm = new int[0];
+		long[] mutationTime = new long[0];
+		int count;
+
+		void add(AChromosome<?> child, double fitness, int crossover, long crossoverNanos, int mutation, long mutationNanos) {
+			if (count == offspring.length) {
+				int length = Math.max(16, 2 * count);
+				offspring = Arrays.copyOf(offspring, length);
+				parentFitness = Arrays.copyOf(parentFitness, length);
+				crossoverArm = Arrays.copyOf(crossoverArm, length);
+				crossoverTime = Arrays.copyOf(crossoverTime, length);
+				mutationArm = Arrays.copyOf(mutationArm, length);
+				mutationTime = Arrays.copyOf(mutationTime, length);
+			}
+			offspring[count] = child;
+			parentFitness[count] = fitness;
+			crossoverArm[count] = crossover;
+			crossoverTime[count] = crossoverNanos;
+			mutationArm[count] = mutation;
+			mutationTime[count] = mutationNanos;
+			count++;
+		}
+
+		void clear() {
+			Arrays.fill(offspring, 0, count, null);
+			count = 0;
+		}
 	}
 
 	// Setters and getters
 
+	/**
+	 * Adds a listener notified about every evaluated generation. Slow listeners should be wrapped into
+	 * {@link gal4j.listener.AsyncGenerationListener}.
+	 *
+	 * @param listener the listener to add
+	 */
+	public void addListener(IGenerationListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(IGenerationListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Writes a checkpoint of the evaluated population every given number of generations. The checkpoints are written
+	 * by a background thread, a previous writer of the engine is closed.
+	 *
+	 * @param file     the checkpoint file, null stops writing checkpoints
+	 * @param interval every how many generations a checkpoint is written
+	 * @throws IllegalArgumentException if the interval is not positive or the default chromosome has no gene codec
+	 */
+	public void setCheckpoint(Path file, int interval) {
+		if (file != null && interval <= 0) {
+			throw new IllegalArgumentException("Checkpoint interval must be positive: " + interval);
+		}
+		if (file != null) {
+			// fails before the run starts, not at the first checkpoint
+			checkpointCodec = AGeneCodec.forChromosome(defChromosome);
+		}
+		if (checkpointWriter != null) {
+			checkpointWriter.close();
+		}
+		checkpointWriter = file == null ? null : new CheckpointWriter(file);
+		checkpointInterval = interval;
+	}
+
+	/**
+	 * @return the writer of checkpoints, null if no checkpoints are written
+	 */
+	public CheckpointWriter getCheckpointWriter() {
+		return checkpointWriter;
+	}
+
+	public void setTermination(ITermination termination) {
+		this.termination = termination;
+	}
+
+	/**
+	 * @return copy of the best chromosome evaluated during the current or the last run, null before the first evaluation
+	 */
+	public AChromosome<?> getBestChromosome() {
+		return bestChromosome;
+	}
+
+	public ITermination getTermination() {
+		return termination;
+	}
+
 	public void setCrossoverOperatorPR(ICrossover crossoverOperator) {
 		this.crossoverOperatorPR = crossoverOperator;
 	}
@@ -264,6 +920,22 @@ public class Engine {
 		this.mutationOperatorPR = mutationOperator;
 	}
 
+	public void setCrossoverOperators(AdaptiveOperatorPool<ICrossover> crossoverOperators) {
+		this.crossoverOperators = crossoverOperators;
+	}
+
+	public void setMutationOperators(AdaptiveOperatorPool<IMutation> mutationOperators) {
+		this.mutationOperators = mutationOperators;
+	}
+
+	public void setStatistics(RunStatistics statistics) {
+		this.statistics = statistics;
+	}
+
+	public void setLocalSearch(ILocalSearch localSearch) {
+		this.localSearch = localSearch;
+	}
+
 	public void setSelectionOperator(ASelection selectionOperator) {
 		this.selectionOperator = selectionOperator;
 	}
@@ -292,6 +964,22 @@ public class Engine {
 		return mutationOperatorSC;
 	}
 
+	public AdaptiveOperatorPool<ICrossover> getCrossoverOperators() {
+		return crossoverOperators;
+	}
+
+	public AdaptiveOperatorPool<IMutation> getMutationOperators() {
+		return mutationOperators;
+	}
+
+	public RunStatistics getStatistics() {
+		return statistics;
+	}
+
+	public ILocalSearch getLocalSearch() {
+		return localSearch;
+	}
+
 	public ASelection getselectionOperator() {
 		return selectionOperator;
 	}
@@ -0,0 +1,21 @@
+package gal4j.algorithm;
+
+/**
+ * Interface describing the cost of travelling between two nodes of a tour problem, such as the distance between two towns.
+ * 
+ * Operators for permutation problems use it to evaluate edge changes in O(1) instead of recalculating the whole fitness.
+ * Nodes are the integer genes of a permutation chromosome, numbered from 0 to genLength - 1.
+ * 
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public interface IEdgeCost {
+	/**
+	 * Returns the cost of the edge between two nodes. The cost is expected to be symmetric.
+	 * 
+	 * @param from the first node
+	 * @param to   the second node
+	 * @return the cost of the edge
+	 */
+	public double cost(int from, int to);
+}
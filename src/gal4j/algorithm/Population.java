@@ -1,14 +1,14 @@
 package gal4j.algorithm;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import gal4j.chromosome.AChromosome;
+import gal4j.multithread.EvaluationControl;
 import gal4j.multithread.Master;
+import gal4j.utils.FitnessSummary;
 
 /**
  * Represents a population of chromosomes in a genetic algorithm.
@@ -29,6 +29,12 @@ public class Population {
 
     /** Whether the population is sorted by fitness (descending) */
     private boolean sorted = false;
+
+    /** Cached ranking of the chromosomes, null if it has to be recomputed */
+    private Ranking ranking;
+
+    /** Fitness summary collected during the last evaluation, null if the population changed since */
+    private FitnessSummary summary;
 	
 	
 	/** 
@@ -64,6 +70,9 @@ public class Population {
      */
 	public void addChromosome(AChromosome<?> chromosome) {
 		chromosomes.add(chromosome);
+		sorted = false;
+		ranking = null;
+		summary = null;
 	}
 	
 	/**
@@ -85,36 +94,154 @@ public class Population {
 	
 	/**
      * Returns the chromosome with the highest fitness.
-     * Automatically sorts the population if not already sorted.
+     * Uses a single linear scan if the population is not sorted, the order of chromosomes is not changed.
      * @return the best chromosome
      */
 	public AChromosome<?> getBestChromosome() {
-		if(sorted == false) {
-			sortPopulation();
+		if(sorted) {
+			return chromosomes.get(0);
 		}
-		return chromosomes.get(0);
+		int best = 0;
+		for(int i = 1; i < chromosomes.size(); i++) {
+			if(chromosomes.get(i).getFitness() > chromosomes.get(best).getFitness()) {
+				best = i;
+			}
+		}
+		return chromosomes.get(best);
 	}
 	
 	/**
      * Returns the chromosome with the lowest fitness.
-     * Automatically sorts the population if not already sorted.
+     * Uses a single linear scan if the population is not sorted, the order of chromosomes is not changed.
      * @return the worst chromosome by fitness
      */
 	public AChromosome<?> getWorstChromosome() {
-		if(sorted == false) {
-			sortPopulation();
+		if(sorted) {
+			return chromosomes.get(getPopulationSize()-1);
+		}
+		int worst = 0;
+		for(int i = 1; i < chromosomes.size(); i++) {
+			if(chromosomes.get(i).getFitness() < chromosomes.get(worst).getFitness()) {
+				worst = i;
+			}
+		}
+		return chromosomes.get(worst);
+	}
+	
+	/**
+	 * Returns indices of the k chromosomes with the highest fitness, best first.
+	 * Uses a bounded min-heap over primitive fitness values, so it runs in O(n log k)
+	 * and does not reorder the population.
+	 * @param k number of chromosomes to return
+	 * @return indices of the top chromosomes in descending order of fitness
+	 */
+	public int[] getTopIndices(int k) {
+		int n = chromosomes.size();
+		k = Math.max(0, Math.min(k, n));
+		int[] top = new int[k];
+		if(k == 0) {
+			return top;
+		}
+		if(sorted) {
+			for(int i = 0; i < k; i++) {
+				top[i] = i;
+			}
+			return top;
+		}
+		
+		// min-heap holding the k best chromosomes seen so far, the weakest one is at the root
+		double[] heapFit = new double[k];
+		int[] heapIdx = new int[k];
+		int size = 0;
+		for(int i = 0; i < n; i++) {
+			double fit = chromosomes.get(i).getFitness();
+			if(size < k) {
+				int child = size++;
+				while(child > 0) {
+					int parent = (child - 1) >>> 1;
+					if(heapFit[parent] <= fit) {
+						break;
+					}
+					heapFit[child] = heapFit[parent];
+					heapIdx[child] = heapIdx[parent];
+					child = parent;
+				}
+				heapFit[child] = fit;
+				heapIdx[child] = i;
+			} else if(fit > heapFit[0]) {
+				siftDown(heapFit, heapIdx, size, fit, i);
+			}
+		}
+		
+		// repeatedly remove the weakest element and place it at the end of the result
+		for(int last = k - 1; last >= 0; last--) {
+			top[last] = heapIdx[0];
+			siftDown(heapFit, heapIdx, last, heapFit[last], heapIdx[last]);
+		}
+		return top;
+	}
+	
+	/**
+	 * Places the given element at the root of the min-heap and moves it down to its position.
+	 */
+	private static void siftDown(double[] heapFit, int[] heapIdx, int size, double fit, int index) {
+		int parent = 0;
+		while(true) {
+			int child = 2 * parent + 1;
+			if(child >= size) {
+				break;
+			}
+			if(child + 1 < size && heapFit[child + 1] < heapFit[child]) {
+				child++;
+			}
+			if(heapFit[child] >= fit) {
+				break;
+			}
+			heapFit[parent] = heapFit[child];
+			heapIdx[parent] = heapIdx[child];
+			parent = child;
+		}
+		if(size > 0) {
+			heapFit[parent] = fit;
+			heapIdx[parent] = index;
 		}
-		return chromosomes.get(getPopulationSize()-1);
 	}
 		
 	
 	
 	/** 
-	 * Sorts the population by descending fitness 
+	 * Sorts the population by descending fitness.
+	 * The order is taken from {@link #getRanking()}, chromosomes with equal fitness keep their relative order.
 	 */
 	public void sortPopulation() {
-        Collections.sort(chromosomes, Comparator.comparingDouble(AChromosome<?>::getFitness).reversed());
+		ranking = null;
+		int[] order = getRanking().getOrder();
+		AChromosome<?>[] unsorted = chromosomes.toArray(new AChromosome<?>[0]);
+		for(int i = 0; i < order.length; i++) {
+			chromosomes.set(i, unsorted[order[i]]);
+		}
         sorted = true;
+        ranking = null;
+	}
+	
+	/**
+	 * Returns the ranking of the chromosomes by descending fitness without reordering them.
+	 * The ranking is computed once and reused until the population or its fitness values change.
+	 * @return the ranking of the population
+	 */
+	public Ranking getRanking() {
+		if(ranking == null) {
+			ranking = new Ranking(this);
+		}
+		return ranking;
+	}
+	
+	/**
+	 * Returns the summary of the fitness values collected while the population was evaluated.
+	 * @return the fitness summary, null if the population was not evaluated or was changed since
+	 */
+	public FitnessSummary getFitnessSummary() {
+		return summary;
 	}
 	
 	/** 
@@ -137,10 +264,33 @@ public class Population {
      * @param fitness the fitness function to use
      */
 	public void calculateFitSeq(AFitnessFunction fitness) {
-		for(int i = 0; i < chromosomes.size(); i++) {
+		calculateFitSeq(fitness, null);
+	}
+	
+	/**
+     * Calculates fitness of the chromosomes sequentially until all are evaluated or the control is stopped.
+     * @param fitness the fitness function to use
+     * @param control the evaluation control, null for none
+     * @return the number of evaluated chromosomes, they are the first ones of the population
+     */
+	public int calculateFitSeq(AFitnessFunction fitness, EvaluationControl control) {
+		sorted = false;
+		ranking = null;
+		FitnessSummary values = new FitnessSummary();
+		int i = 0;
+		for(; i < chromosomes.size(); i++) {
+			if(control != null && control.isStopped()) {
+				break;
+			}
 			double value = fitness.calculateFitness(chromosomes.get(i));
 			chromosomes.get(i).setFitness(value);
+			values.add(value);
+			if(control != null) {
+				control.report(value);
+			}
 		}
+		summary = values;
+		return i;
 	}
 	
 	
@@ -150,7 +300,21 @@ public class Population {
      * @param threads number of threads to use
      */
 	public void calculateFitPar(AFitnessFunction fitness, int threads) {
+		calculateFitPar(fitness, threads, null);
+	}
+	
+	/**
+     * Calculates fitness of the chromosomes in parallel until all are evaluated or the control is stopped.
+     * @param fitness the fitness function to use
+     * @param threads number of threads to use
+     * @param control the evaluation control, null for none
+     * @return the number of evaluated chromosomes, they are the first ones of the population
+     */
+	public int calculateFitPar(AFitnessFunction fitness, int threads, EvaluationControl control) {
+		sorted = false;
+		ranking = null;
 		Master master = new Master(chromosomes, threads, fitness);
+		master.setControl(control);
 		Thread thread = new Thread(master);
 		
 		thread.start();
@@ -160,6 +324,8 @@ public class Population {
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
+		summary = master.getSummary();
+		return master.getDispatched();
 	}
 	
 	/** 
@@ -186,19 +352,20 @@ public class Population {
 	
 	/**
      * Checks if any chromosome in the population is the same instance.
+     * Instances are marked with a fresh epoch, so the check needs no additional memory.
      * @return true if duplicates (same instance) exist
      */
 	public boolean isSameInstance() {
-	    Set<AChromosome<?>> uniqueChromosomes = new HashSet<>();
+	    int epoch = AChromosome.nextEpoch();
 	    boolean res = false;
 	   
 
 	    for (int i = 0; i < chromosomes.size(); i++) {
 	        AChromosome<?> chromosome = getChromosome(i);
 
-	        // Check if this chromosome is already in the set
-	        if (!uniqueChromosomes.add(chromosome)) {
-	            // If `add` returns false, it's a duplicate instance
+	        // Check if this chromosome was already marked in this check
+	        if (!chromosome.mark(epoch)) {
+	            // If `mark` returns false, it's a duplicate instance
 	            System.out.println("Duplicate instance found at index: " + i);
 	            res = true;
 	        }
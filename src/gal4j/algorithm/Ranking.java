@@ -0,0 +1,151 @@
+package gal4j.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Ranking of a population by descending fitness which does not reorder the chromosomes.
+ *
+ * The ranking is computed by a stable LSD radix sort of primitive (fitness, index) pairs,
+ * where the fitness is transformed to a 64 bit key that keeps the order of IEEE 754 doubles.
+ * Byte passes in which all keys are equal are skipped, so the sort usually needs only a few passes.
+ * Chromosomes with the same fitness keep their order from the population.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class Ranking {
+
+	/** Population indices ordered from the best to the worst chromosome */
+	private final int[] order;
+
+	/** Rank of every population index, 0 is the best */
+	private final int[] ranks;
+
+	/** Fitness values ordered from the best to the worst chromosome */
+	private final double[] fitness;
+
+	/**
+	 * Ranks the chromosomes of the given population.
+	 *
+	 * @param population the population to rank
+	 */
+	public Ranking(Population population) {
+		int n = population.getPopulationSize();
+
+		long[] keys = new long[n];
+		int[] indices = new int[n];
+		for (int i = 0; i < n; i++) {
+			keys[i] = descendingKey(population.getChromosome(i).getFitness());
+			indices[i] = i;
+		}
+
+		radixSort(keys, indices);
+
+		this.order = indices;
+		this.ranks = new int[n];
+		this.fitness = new double[n];
+		for (int rank = 0; rank < n; rank++) {
+			ranks[order[rank]] = rank;
+			fitness[rank] = population.getChromosome(order[rank]).getFitness();
+		}
+	}
+
+	/**
+	 * Maps a fitness value to a key whose unsigned ascending order is the descending order of the fitness.
+	 */
+	private static long descendingKey(double value) {
+		long bits = Double.doubleToLongBits(value);
+		// flip all bits of negative numbers and only the sign bit of positive numbers
+		long ascending = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+		return ~ascending;
+	}
+
+	/**
+	 * Stable LSD radix sort of the keys by unsigned value, moving the indices along.
+	 */
+	private static void radixSort(long[] keys, int[] indices) {
+		int n = keys.length;
+		long[] keyBuffer = new long[n];
+		int[] indexBuffer = new int[n];
+		int[] counts = new int[256];
+
+		for (int shift = 0; shift < 64; shift += 8) {
+			Arrays.fill(counts, 0);
+			for (int i = 0; i < n; i++) {
+				counts[(int) (keys[i] >>> shift) & 0xFF]++;
+			}
+
+			// all keys share this byte, the pass would not change anything
+			if (n == 0 || counts[(int) (keys[0] >>> shift) & 0xFF] == n) {
+				continue;
+			}
+
+			int sum = 0;
+			for (int b = 0; b < 256; b++) {
+				int count = counts[b];
+				counts[b] = sum;
+				sum += count;
+			}
+
+			for (int i = 0; i < n; i++) {
+				int position = counts[(int) (keys[i] >>> shift) & 0xFF]++;
+				keyBuffer[position] = keys[i];
+				indexBuffer[position] = indices[i];
+			}
+
+			System.arraycopy(keyBuffer, 0, keys, 0, n);
+			System.arraycopy(indexBuffer, 0, indices, 0, n);
+		}
+	}
+
+	/**
+	 * @return the number of ranked chromosomes
+	 */
+	public int size() {
+		return order.length;
+	}
+
+	/**
+	 * Returns the population index of the chromosome with the given rank.
+	 *
+	 * @param rank the rank, 0 is the best chromosome
+	 * @return the index of the chromosome in the population
+	 */
+	public int getIndex(int rank) {
+		return order[rank];
+	}
+
+	/**
+	 * Returns the rank of the chromosome at the given population index.
+	 *
+	 * @param index the index of the chromosome in the population
+	 * @return the rank, 0 is the best chromosome
+	 */
+	public int getRank(int index) {
+		return ranks[index];
+	}
+
+	/**
+	 * Returns the fitness of the chromosome with the given rank.
+	 *
+	 * @param rank the rank, 0 is the best chromosome
+	 * @return the fitness value
+	 */
+	public double getFitness(int rank) {
+		return fitness[rank];
+	}
+
+	/**
+	 * @return population indices ordered from the best to the worst chromosome, the array must not be modified
+	 */
+	public int[] getOrder() {
+		return order;
+	}
+
+	/**
+	 * @return rank of every population index, the array must not be modified
+	 */
+	public int[] getRanks() {
+		return ranks;
+	}
+}
@@ -0,0 +1,435 @@
+package gal4j.algorithm;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.io.AGeneCodec;
+import gal4j.io.ICheckpointable;
+import gal4j.utils.FitnessSummary;
+
+/**
+ * Streaming statistics of a run of the genetic algorithm.
+ *
+ * Every recorded generation is summarized into a few numbers (minimum, maximum, mean, standard deviation
+ * and quantiles of the fitness) stored in primitive arrays, so the memory grows with the number of generations,
+ * not with the number of chromosomes. Chromosomes are not referenced after they are recorded.
+ *
+ * Optionally a bounded uniform sample of all recorded chromosomes is kept by reservoir sampling,
+ * the sampled chromosomes are copied together with their fitness.
+ *
+ * The recorded generations and the sample are saved in checkpoints. A sample of chromosomes without
+ * a gene codec is not saved, the sampling starts again after resuming.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class RunStatistics implements ICheckpointable {
+
+	/** Quantiles recorded by default, the quartiles */
+	private static final double[] DEFAULT_QUANTILES = { 0.25, 0.5, 0.75 };
+
+	/** Probabilities of the recorded quantiles */
+	private final double[] quantiles;
+	/** Maximal number of sampled chromosomes */
+	private final int sampleSize;
+	/** Random number generator for the sample */
+	private final Random rand;
+
+	/** Number of recorded generations */
+	private int size;
+	/** Generation numbers */
+	private int[] generation = new int[16];
+	/** Minimal fitness of every generation */
+	private double[] min = new double[16];
+	/** Maximal fitness of every generation */
+	private double[] max = new double[16];
+	/** Mean fitness of every generation */
+	private double[] mean = new double[16];
+	/** Standard deviation of the fitness of every generation */
+	private double[] stdDev = new double[16];
+	/** Quantiles of the fitness, values of quantile q are stored at indices generation * quantiles.length + q */
+	private double[] quantileValues;
+
+	/** Sampled chromosomes */
+	private final List<AChromosome<?>> sample = new ArrayList<>();
+	/** Number of chromosomes offered to the sample */
+	private long seen;
+	/** Index of the next chromosome accepted into the full sample */
+	private long nextSampled;
+	/** Running weight of the skip-based reservoir sampling */
+	private double weight;
+
+	/**
+     * Constructs statistics recording the quartiles without a sample of chromosomes.
+     */
+	public RunStatistics() {
+		this(DEFAULT_QUANTILES, 0);
+	}
+
+	/**
+     * Constructs statistics recording the quartiles and a sample of chromosomes.
+     *
+     * @param sampleSize the maximal number of sampled chromosomes, 0 for no sample
+     */
+	public RunStatistics(int sampleSize) {
+		this(DEFAULT_QUANTILES, sampleSize);
+	}
+
+	/**
+     * Constructs statistics recording the given quantiles and a sample of chromosomes.
+     *
+     * @param quantiles  the probabilities of the recorded quantiles in range [0, 1]
+     * @param sampleSize the maximal number of sampled chromosomes, 0 for no sample
+     */
+	public RunStatistics(double[] quantiles, int sampleSize) {
+		this(quantiles, sampleSize, new Random());
+	}
+
+	/**
+     * Constructs statistics recording the given quantiles and a sample of chromosomes with a custom random generator.
+     *
+     * @param quantiles  the probabilities of the recorded quantiles in range [0, 1]
+     * @param sampleSize the maximal number of sampled chromosomes, 0 for no sample
+     * @param rand       the Random instance to use for the sample
+     */
+	public RunStatistics(double[] quantiles, int sampleSize, Random rand) {
+		for (double q : quantiles) {
+			if (!(q >= 0 && q <= 1)) {
+				throw new IllegalArgumentException("Quantile must be in range [0, 1]: " + q);
+			}
+		}
+		if (sampleSize < 0) {
+			throw new IllegalArgumentException("Sample size must not be negative: " + sampleSize);
+		}
+		this.quantiles = quantiles.clone();
+		this.sampleSize = sampleSize;
+		this.rand = rand;
+		this.quantileValues = new double[16 * quantiles.length];
+	}
+
+
+	/**
+     * Records the fitness statistics of the evaluated population and offers its chromosomes to the sample.
+     * The quantiles are read from the ranking of the population, which is cached and reused by the selection.
+     *
+     * @param population the evaluated population
+     */
+	public synchronized void record(Population population) {
+		int n = population.getPopulationSize();
+		if (n == 0) {
+			return;
+		}
+		ensureCapacity(size + 1);
+
+		// the summary collected during the evaluation is reused, otherwise it is computed now
+		FitnessSummary summary = population.getFitnessSummary();
+		if (summary == null || summary.getCount() != n) {
+			summary = new FitnessSummary();
+			for (int i = 0; i < n; i++) {
+				summary.add(population.getChromosome(i).getFitness());
+			}
+		}
+
+		Ranking ranking = population.getRanking();
+		generation[size] = population.getGeneration();
+		max[size] = ranking.getFitness(0);
+		min[size] = ranking.getFitness(n - 1);
+		mean[size] = summary.getMean();
+		stdDev[size] = summary.getStdDev();
+		for (int q = 0; q < quantiles.length; q++) {
+			quantileValues[size * quantiles.length + q] = quantile(ranking, n, quantiles[q]);
+		}
+		size++;
+
+		if (sampleSize > 0) {
+			offer(population);
+		}
+	}
+
+	/**
+	 * Linear interpolation between the closest ranks, ranks are ordered by descending fitness.
+	 */
+	private static double quantile(Ranking ranking, int n, double q) {
+		double position = (n - 1) * (1 - q);
+		int lower = (int) Math.floor(position);
+		int upper = Math.min(lower + 1, n - 1);
+		double fraction = position - lower;
+		return ranking.getFitness(lower) * (1 - fraction) + ranking.getFitness(upper) * fraction;
+	}
+
+	/**
+	 * Offers the chromosomes of the population to the reservoir. Accepted positions are found by geometric skips
+	 * (Li's algorithm L), so only accepted chromosomes cost random draws.
+	 */
+	private void offer(Population population) {
+		int n = population.getPopulationSize();
+		int i = 0;
+
+		// the reservoir is filled first
+		while (sample.size() < sampleSize && i < n) {
+			sample.add(copy(population.getChromosome(i++)));
+			seen++;
+			if (sample.size() == sampleSize) {
+				weight = Math.exp(Math.log(nextRandom()) / sampleSize);
+				nextSampled = seen + skip();
+			}
+		}
+
+		long end = seen + (n - i);
+		if (sample.size() < sampleSize) {
+			// the whole generation went into the reservoir, the skips start once it is full
+			seen = end;
+			return;
+		}
+		while (nextSampled < end) {
+			int index = i + (int) (nextSampled - seen);
+			sample.set(rand.nextInt(sampleSize), copy(population.getChromosome(index)));
+			weight *= Math.exp(Math.log(nextRandom()) / sampleSize);
+			nextSampled += 1 + skip();
+		}
+		seen = end;
+	}
+
+	private long skip() {
+		double skip = Math.floor(Math.log(nextRandom()) / Math.log1p(-weight));
+		return skip >= Long.MAX_VALUE / 2 ? Long.MAX_VALUE / 2 : (long) skip;
+	}
+
+	/** Random number in (0, 1], the logarithm is finite */
+	private double nextRandom() {
+		return 1.0 - rand.nextDouble();
+	}
+
+	private static AChromosome<?> copy(AChromosome<?> chromosome) {
+		AChromosome<?> copy = chromosome.clone();
+		copy.setFitness(chromosome.getFitness());
+		return copy;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > min.length) {
+			int length = Math.max(capacity, 2 * min.length);
+			generation = Arrays.copyOf(generation, length);
+			min = Arrays.copyOf(min, length);
+			max = Arrays.copyOf(max, length);
+			mean = Arrays.copyOf(mean, length);
+			stdDev = Arrays.copyOf(stdDev, length);
+			quantileValues = Arrays.copyOf(quantileValues, length * quantiles.length);
+		}
+	}
+
+	@Override
+	public synchronized void writeState(DataOutput out) throws IOException {
+		out.writeInt(quantiles.length);
+		out.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			out.writeInt(generation[i]);
+			out.writeDouble(min[i]);
+			out.writeDouble(max[i]);
+			out.writeDouble(mean[i]);
+			out.writeDouble(stdDev[i]);
+			for (int q = 0; q < quantiles.length; q++) {
+				out.writeDouble(quantileValues[i * quantiles.length + q]);
+			}
+		}
+
+		AGeneCodec codec = sampleCodec();
+		if (codec == null) {
+			out.writeInt(0);
+			return;
+		}
+		out.writeInt(sample.size());
+		codec.write(out);
+		ByteBuffer genes = ByteBuffer.allocate(Double.BYTES + codec.getGeneBytes());
+		for (AChromosome<?> chromosome : sample) {
+			genes.clear();
+			genes.putDouble(chromosome.getFitness());
+			codec.encode(chromosome, genes);
+			out.write(genes.array());
+		}
+		out.writeLong(seen);
+		out.writeLong(nextSampled);
+		out.writeDouble(weight);
+	}
+
+	/**
+	 * @return the codec of the sampled chromosomes, null if the sample is empty or cannot be encoded
+	 */
+	private AGeneCodec sampleCodec() {
+		if (sample.isEmpty()) {
+			return null;
+		}
+		try {
+			AGeneCodec codec = AGeneCodec.forChromosome(sample.get(0));
+			for (AChromosome<?> chromosome : sample) {
+				if (!codec.equals(AGeneCodec.forChromosome(chromosome))) {
+					return null;
+				}
+			}
+			return codec;
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	@Override
+	public synchronized void readState(DataInput in) throws IOException {
+		int quantileCount = in.readInt();
+		if (quantileCount != quantiles.length) {
+			throw new IOException("Saved statistics have " + quantileCount + " quantiles, these " + quantiles.length);
+		}
+		int count = in.readInt();
+		if (count < 0) {
+			throw new IOException("Invalid number of recorded generations: " + count);
+		}
+		clear();
+		ensureCapacity(count);
+		for (int i = 0; i < count; i++) {
+			generation[i] = in.readInt();
+			min[i] = in.readDouble();
+			max[i] = in.readDouble();
+			mean[i] = in.readDouble();
+			stdDev[i] = in.readDouble();
+			for (int q = 0; q < quantiles.length; q++) {
+				quantileValues[i * quantiles.length + q] = in.readDouble();
+			}
+		}
+		size = count;
+
+		int sampled = in.readInt();
+		if (sampled == 0) {
+			return;
+		}
+		AGeneCodec codec = AGeneCodec.read(in);
+		byte[] bytes = new byte[Double.BYTES + codec.getGeneBytes()];
+		for (int i = 0; i < sampled; i++) {
+			in.readFully(bytes);
+			ByteBuffer genes = ByteBuffer.wrap(bytes);
+			AChromosome<?> chromosome = codec.newChromosome();
+			chromosome.setFitness(genes.getDouble());
+			codec.decode(genes, chromosome);
+			sample.add(chromosome);
+		}
+		long savedSeen = in.readLong();
+		long savedNext = in.readLong();
+		double savedWeight = in.readDouble();
+		if (sampled <= sampleSize) {
+			seen = savedSeen;
+			nextSampled = savedNext;
+			weight = savedWeight;
+		} else {
+			// the saved reservoir does not fit the sample size of these statistics, so the sampling starts again
+			sample.clear();
+		}
+	}
+
+	/**
+     * Removes all recorded generations and the sample.
+     */
+	public synchronized void clear() {
+		size = 0;
+		sample.clear();
+		seen = 0;
+		nextSampled = 0;
+		weight = 0;
+	}
+
+	/**
+     * @return the number of recorded generations
+     */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+     * @param  index the index of the recorded generation
+     * @return the generation number of the population
+     */
+	public synchronized int getGeneration(int index) {
+		checkIndex(index);
+		return generation[index];
+	}
+
+	/**
+     * @param  index the index of the recorded generation
+     * @return the minimal fitness
+     */
+	public synchronized double getMin(int index) {
+		checkIndex(index);
+		return min[index];
+	}
+
+	/**
+     * @param  index the index of the recorded generation
+     * @return the maximal fitness
+     */
+	public synchronized double getMax(int index) {
+		checkIndex(index);
+		return max[index];
+	}
+
+	/**
+     * @param  index the index of the recorded generation
+     * @return the mean fitness
+     */
+	public synchronized double getMean(int index) {
+		checkIndex(index);
+		return mean[index];
+	}
+
+	/**
+     * @param  index the index of the recorded generation
+     * @return the standard deviation of the fitness
+     */
+	public synchronized double getStdDev(int index) {
+		checkIndex(index);
+		return stdDev[index];
+	}
+
+	/**
+     * @param  index    the index of the recorded generation
+     * @param  quantile the index of the quantile in {@link #getQuantiles()}
+     * @return the value of the quantile of the fitness
+     */
+	public synchronized double getQuantile(int index, int quantile) {
+		checkIndex(index);
+		if (quantile < 0 || quantile >= quantiles.length) {
+			throw new IndexOutOfBoundsException("Quantile index " + quantile + " out of " + quantiles.length);
+		}
+		return quantileValues[index * quantiles.length + quantile];
+	}
+
+	/**
+     * @return a copy of the probabilities of the recorded quantiles
+     */
+	public double[] getQuantiles() {
+		return quantiles.clone();
+	}
+
+	/**
+     * @return a copy of the sampled chromosomes
+     */
+	public synchronized List<AChromosome<?>> getSample() {
+		return new ArrayList<>(sample);
+	}
+
+	/**
+     * @return the maximal number of sampled chromosomes
+     */
+	public int getSampleSize() {
+		return sampleSize;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Generation index " + index + " out of " + size);
+		}
+	}
+}
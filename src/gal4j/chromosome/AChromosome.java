@@ -1,5 +1,6 @@
 package gal4j.chromosome;
 
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Abstract class representing a chromosome in the genetic algorithm. A chromosome holds a set of genes
@@ -17,6 +18,12 @@ public abstract class AChromosome<T> {
     
     /** Flag indicating if the chromosome is selected as a parent for reproduction */
     private boolean isParent;
+    
+    /** Source of unique epochs used for identity marking */
+    private static final AtomicInteger EPOCHS = new AtomicInteger();
+    
+    /** Epoch in which the chromosome was last marked */
+    private int markedEpoch;
 	
 
 	
@@ -119,6 +126,35 @@ public abstract class AChromosome<T> {
     public void setParent(boolean isParent) {
         this.isParent = isParent;
     }
+    
+    /**
+     * Returns a new epoch for identity marking. Every call returns a different non zero value,
+     * so chromosomes marked in earlier epochs are seen as unmarked without clearing anything.
+     * 
+     * @return A new epoch.
+     */
+    public static int nextEpoch() {
+        int epoch = EPOCHS.incrementAndGet();
+        while (epoch == 0) {
+            epoch = EPOCHS.incrementAndGet();
+        }
+        return epoch;
+    }
+    
+    /**
+     * Marks this chromosome instance in the given epoch.
+     * Used for O(1) detection of repeated references without hashing.
+     * 
+     * @param epoch The epoch obtained from {@link #nextEpoch()}.
+     * @return True if the chromosome was not marked in this epoch yet, otherwise false.
+     */
+    public boolean mark(int epoch) {
+        if (markedEpoch == epoch) {
+            return false;
+        }
+        markedEpoch = epoch;
+        return true;
+    }
 	
 
 }
@@ -7,15 +7,21 @@ import java.util.Random;
  * An implementation of a binary chromosome where each gene is an Integer with a value of 0 or 1.
  * This chromosome is commonly used for problems with binary representations in genetic algorithms.
  * 
+ * The genes are packed into 64-bit words, so operators implementing a word-level path
+ * process 64 genes at once through {@link IBitPacked}.
+ * 
  * @author Filip Křenek
  * @version 1.0
  */
-public class BinaryChromosome extends AChromosome<Integer> {
+public class BinaryChromosome extends AChromosome<Integer> implements IBitPacked {
 	
 	
 	
-    /** Array of genes, each representing either 0 or 1 */
-    private Integer[] genes;
+    /** Genes packed into words, gene i is bit (i % 64) of word (i / 64) */
+    private final long[] words;
+    
+    /** Number of genes */
+    private final int genLength;
     
     /** Random number generator used for initialization and mutation */
     private Random rand = new Random();
@@ -27,7 +33,8 @@ public class BinaryChromosome extends AChromosome<Integer> {
      * @param genLength Length of the chromosome (number of genes).
      */
     public BinaryChromosome(int genLength) {
-        genes = new Integer[genLength];
+        this.genLength = genLength;
+        words = new long[(genLength + 63) >>> 6];
         setParent(false);
     }
 
@@ -38,28 +45,32 @@ public class BinaryChromosome extends AChromosome<Integer> {
      * @param rand Custom Random instance for testing purposes
      */
     public BinaryChromosome(int genLength, Random rand) {
-        genes = new Integer[genLength];
-        setParent(false);
+        this(genLength);
         this.rand = rand;
     }
 
     /**
-     * Initializes the chromosome with random binary values.
+     * Initializes the chromosome with random binary values, one random word per 64 genes.
      */
     @Override
     public void initialize() {
-        for (int i = 0; i < genes.length; i++) {
-            genes[i] = rand.nextInt(0, 2); // Generates 0 or 1
+        for (int w = 0; w < words.length; w++) {
+            words[w] = rand.nextLong();
         }
+        clearTail();
     }
 
     /**
-     * Returns the array of binary genes.
+     * Returns the genes as an array. The array is a copy, changing it does not change the chromosome.
      * 
      * @return An array of Integer genes.
      */
     @Override
     public Integer[] getGenes() {
+        Integer[] genes = new Integer[genLength];
+        for (int i = 0; i < genLength; i++) {
+            genes[i] = getGen(i);
+        }
         return genes;
     }
 
@@ -70,7 +81,7 @@ public class BinaryChromosome extends AChromosome<Integer> {
      */
     @Override
     public int getGenLength() {
-        return genes.length;
+        return genLength;
     }
 
     /**
@@ -81,18 +92,34 @@ public class BinaryChromosome extends AChromosome<Integer> {
      */
     @Override
     public Integer getGen(int position) {
-        return genes[position];
+        checkPosition(position);
+        return (int) (words[position >>> 6] >>> position) & 1;
     }
 
     /**
-     * Sets the gene at the specified index to a new value.
+     * Sets the gene at the specified index to a new value, any non zero value is stored as 1.
      * 
      * @param position The index at which the gene will be set.
      * @param gen The new gene value.
      */
     @Override
     public void setGen(int position, Object gen) {
-        genes[position] = (Integer) gen;
+        checkPosition(position);
+        if ((Integer) gen != 0) {
+            words[position >>> 6] |= 1L << position;
+        } else {
+            words[position >>> 6] &= ~(1L << position);
+        }
+    }
+
+    /**
+     * Returns the backing words of the chromosome.
+     * 
+     * @return The packed genes.
+     */
+    @Override
+    public long[] getWords() {
+        return words;
     }
 
     /**
@@ -103,7 +130,7 @@ public class BinaryChromosome extends AChromosome<Integer> {
     @Override
     public AChromosome<Integer> clone() {
         BinaryChromosome copy = new BinaryChromosome(getGenLength());
-        System.arraycopy(this.genes, 0, copy.genes, 0, genes.length);
+        System.arraycopy(this.words, 0, copy.words, 0, words.length);
         copy.setParent(false);
         return copy;
     }
@@ -115,7 +142,7 @@ public class BinaryChromosome extends AChromosome<Integer> {
     public void clean() {
         setFitness(0);
         setParent(false);
-        Arrays.fill(this.genes, null);
+        Arrays.fill(this.words, 0L);
     }
 
     /**
@@ -125,9 +152,26 @@ public class BinaryChromosome extends AChromosome<Integer> {
      */
     @Override
     public void mutateGen(int mutationPoint) {
-        int gen = getGen(mutationPoint);
-        gen = (gen == 0) ? 1 : 0;
-        setGen(mutationPoint, gen);
+        checkPosition(mutationPoint);
+        words[mutationPoint >>> 6] ^= 1L << mutationPoint;
+    }
+
+    /**
+     * Clears the bits past the last gene.
+     */
+    private void clearTail() {
+        if ((genLength & 63) != 0) {
+            words[words.length - 1] &= -1L >>> -genLength;
+        }
+    }
+
+    /**
+     * Shifts of longs use only the low six bits, so positions past the length must be rejected explicitly.
+     */
+    private void checkPosition(int position) {
+        if (position < 0 || position >= genLength) {
+            throw new ArrayIndexOutOfBoundsException("Index " + position + " out of bounds for length " + genLength);
+        }
     }
 
     /**
@@ -137,8 +181,8 @@ public class BinaryChromosome extends AChromosome<Integer> {
     @Override
     public void printGenes() {
         System.out.print("Genes: [");
-        for (int i = 0; i < genes.length; i++) {
-            System.out.print((i == genes.length - 1) ? genes[i] : genes[i] + " | ");
+        for (int i = 0; i < genLength; i++) {
+            System.out.print((i == genLength - 1) ? getGen(i) : getGen(i) + " | ");
         }
         System.out.println("] ; FIT: " + getFitness());
     }
@@ -90,6 +90,13 @@ public class DecimalChromosome extends AChromosome<Integer> {
         return genes.length;
     }
 
+    /**
+     * @return True if each number from 0 to genLength-1 appears exactly once.
+     */
+    public boolean isNumberOnlyOnce() {
+        return numberOnlyOnce;
+    }
+
     /**
      * Returns the gene at the given position.
      * 
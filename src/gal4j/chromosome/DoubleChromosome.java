@@ -9,13 +9,15 @@ import java.util.Random;
  * Each gene is a double value randomly initialized in the range [min, max],
  * rounded to two decimal places.
  * 
+ * The genes are stored in a primitive array, arithmetic operators access it through {@link IDoubleGenes}.
+ * 
  * @author Filip Křenek
  * @version 1.0
  */
-public class DoubleChromosome extends AChromosome<Double> {
+public class DoubleChromosome extends AChromosome<Double> implements IDoubleGenes {
     
     /** The array of double genes */
-    private Double[] genes;
+    private final double[] genes;
 
     /** Minimum value for each gene */
     private double min;
@@ -33,7 +35,7 @@ public class DoubleChromosome extends AChromosome<Double> {
      * @param max Maximum possible value of a gene.
      */
     public DoubleChromosome(int genLength, double min, double max) {
-        genes = new Double[genLength];
+        genes = new double[genLength];
         setParent(false);
         this.min = min;
         this.max = max;
@@ -48,7 +50,7 @@ public class DoubleChromosome extends AChromosome<Double> {
      * @param rand Custom Random instance for testing purposes
      */
     public DoubleChromosome(int genLength, double min, double max, Random rand) {
-        genes = new Double[genLength];
+        genes = new double[genLength];
         setParent(false);
         this.min = min;
         this.max = max;
@@ -67,13 +69,43 @@ public class DoubleChromosome extends AChromosome<Double> {
     }
 
     /**
+     * Returns the genes as an array. The array is a copy, changing it does not change the chromosome.
+     * 
      * @return Array containing all genes.
      */
     @Override
     public Double[] getGenes() {
+        Double[] copy = new Double[genes.length];
+        for (int i = 0; i < genes.length; i++) {
+            copy[i] = genes[i];
+        }
+        return copy;
+    }
+
+    /**
+     * @return The backing array of the genes.
+     */
+    @Override
+    public double[] getValues() {
         return genes;
     }
 
+    /**
+     * @return Minimum possible value of a gene.
+     */
+    @Override
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * @return Maximum possible value of a gene.
+     */
+    @Override
+    public double getMax() {
+        return max;
+    }
+
     /**
      * @return The number of genes in the chromosome.
      */
@@ -124,7 +156,7 @@ public class DoubleChromosome extends AChromosome<Double> {
     public void clean() {
         setFitness(0);
         setParent(false);
-        Arrays.fill(this.genes, null);
+        Arrays.fill(this.genes, 0.0);
     }
 
     /**
@@ -135,7 +167,7 @@ public class DoubleChromosome extends AChromosome<Double> {
     @Override
     public void mutateGen(int mutationPoint) {
         double gen = min + (max - min) * rand.nextDouble();
-        while (getGen(mutationPoint).equals(gen)) {
+        while (genes[mutationPoint] == gen) {
             gen = min + (max - min) * rand.nextDouble();
         }
         setGen(mutationPoint, round(gen));
@@ -0,0 +1,20 @@
+package gal4j.chromosome;
+
+/**
+ * Interface for chromosomes whose binary genes are packed into 64-bit words.
+ *
+ * Gene i is bit (i % 64) of word (i / 64). Bits past the chromosome length are always zero.
+ * Operators detect this interface and process 64 genes at once with bitwise operations instead of boxed genes.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public interface IBitPacked {
+	/**
+	 * Returns the backing words of the chromosome. Changes to the array change the genes directly,
+	 * callers must keep the bits past the chromosome length zero.
+	 *
+	 * @return the backing words
+	 */
+	public long[] getWords();
+}
@@ -0,0 +1,29 @@
+package gal4j.chromosome;
+
+/**
+ * Interface for chromosomes whose real-valued genes are stored in a primitive double array.
+ *
+ * Arithmetic operators detect this interface and work on the array directly instead of boxed genes,
+ * which allows processing several genes at once.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public interface IDoubleGenes {
+	/**
+	 * Returns the backing array of the genes. Changes to the array change the genes directly.
+	 *
+	 * @return the backing values
+	 */
+	public double[] getValues();
+
+	/**
+	 * @return the minimum value of a gene
+	 */
+	public double getMin();
+
+	/**
+	 * @return the maximum value of a gene
+	 */
+	public double getMax();
+}
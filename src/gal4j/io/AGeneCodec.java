@@ -0,0 +1,188 @@
+package gal4j.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.BinaryChromosome;
+import gal4j.chromosome.CharChromosome;
+import gal4j.chromosome.DecimalChromosome;
+import gal4j.chromosome.DoubleChromosome;
+
+/**
+ * Binary codec of the genes of one chromosome type.
+ *
+ * All chromosomes of a codec have the same length, so their genes take a fixed number of bytes
+ * and chromosomes can be stored one after another in blocks of the same width.
+ * The type and the parameters of the chromosomes (length, range of values) are written once for the whole block.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public abstract class AGeneCodec {
+
+	/** Identifier of {@link BinaryGeneCodec} */
+	public static final int BINARY = 1;
+	/** Identifier of {@link DecimalGeneCodec} */
+	public static final int DECIMAL = 2;
+	/** Identifier of {@link DoubleGeneCodec} */
+	public static final int DOUBLE = 3;
+	/** Identifier of {@link CharGeneCodec} */
+	public static final int CHAR = 4;
+
+	/** Number of genes of every chromosome */
+	protected final int genLength;
+
+	/**
+     * Constructs a codec of chromosomes of the given length.
+     *
+     * @param genLength the number of genes of every chromosome
+     */
+	protected AGeneCodec(int genLength) {
+		if (genLength < 0) {
+			throw new IllegalArgumentException("Gen length must not be negative: " + genLength);
+		}
+		this.genLength = genLength;
+	}
+
+	/**
+     * Returns the codec of the chromosomes of the same type and parameters as the given one.
+     *
+     * @param  chromosome the template chromosome
+     * @return the codec of the chromosome
+     * @throws IllegalArgumentException if the chromosome is not exactly of a built-in type
+     */
+	public static AGeneCodec forChromosome(AChromosome<?> chromosome) {
+		// subclasses may add state or behaviour, they would be read back as the built-in type
+		Class<?> type = chromosome == null ? null : chromosome.getClass();
+		if (type == BinaryChromosome.class) {
+			return new BinaryGeneCodec(chromosome.getGenLength());
+		}
+		if (type == DecimalChromosome.class) {
+			return new DecimalGeneCodec(chromosome.getGenLength(), ((DecimalChromosome) chromosome).isNumberOnlyOnce());
+		}
+		if (type == DoubleChromosome.class) {
+			DoubleChromosome doubles = (DoubleChromosome) chromosome;
+			return new DoubleGeneCodec(doubles.getGenLength(), doubles.getMin(), doubles.getMax());
+		}
+		if (type == CharChromosome.class) {
+			return new CharGeneCodec(chromosome.getGenLength());
+		}
+		throw new IllegalArgumentException("No gene codec for chromosome type " + (type == null ? null : type.getName()));
+	}
+
+	/**
+     * Reads a codec written by {@link #write(DataOutput)}.
+     *
+     * @param  in the input to read from
+     * @return the codec
+     * @throws IOException if the input cannot be read or names an unknown codec
+     */
+	public static AGeneCodec read(DataInput in) throws IOException {
+		int id = in.readUnsignedByte();
+		int genLength = in.readInt();
+		if (genLength < 0) {
+			throw new IOException("Invalid gen length: " + genLength);
+		}
+		switch (id) {
+			case BINARY:
+				return new BinaryGeneCodec(genLength);
+			case DECIMAL:
+				return new DecimalGeneCodec(genLength, in.readBoolean());
+			case DOUBLE:
+				return new DoubleGeneCodec(genLength, in.readDouble(), in.readDouble());
+			case CHAR:
+				return new CharGeneCodec(genLength);
+			default:
+				throw new IOException("Unknown gene codec: " + id);
+		}
+	}
+
+	/**
+     * Writes the type and the parameters of the codec.
+     *
+     * @param out the output to write to
+     * @throws IOException if the output cannot be written
+     */
+	public void write(DataOutput out) throws IOException {
+		out.writeByte(getId());
+		out.writeInt(genLength);
+		writeParameters(out);
+	}
+
+	/**
+     * Writes the parameters specific to the chromosome type, the identifier and the length are already written.
+     *
+     * @param out the output to write to
+     * @throws IOException if the output cannot be written
+     */
+	protected void writeParameters(DataOutput out) throws IOException {
+	}
+
+	/**
+     * @return the identifier of the codec
+     */
+	public abstract int getId();
+
+	/**
+     * @return the number of bytes of the genes of one chromosome
+     */
+	public abstract int getGeneBytes();
+
+	/**
+     * @return a new chromosome of the codec with unset genes
+     */
+	public abstract AChromosome<?> newChromosome();
+
+	/**
+     * Writes the genes of the chromosome at the position of the buffer, the position moves by {@link #getGeneBytes()}.
+     *
+     * @param chromosome the chromosome of the codec
+     * @param out        the buffer to write to
+     */
+	public abstract void encode(AChromosome<?> chromosome, ByteBuffer out);
+
+	/**
+     * Reads the genes at the position of the buffer into the chromosome, the position moves by {@link #getGeneBytes()}.
+     *
+     * @param in         the buffer to read from
+     * @param chromosome the chromosome of the codec
+     */
+	public abstract void decode(ByteBuffer in, AChromosome<?> chromosome);
+
+	/**
+     * @return the number of genes of every chromosome
+     */
+	public int getGenLength() {
+		return genLength;
+	}
+
+	/**
+     * Checks that the chromosome has the length of the codec.
+     *
+     * @param chromosome the chromosome to check
+     */
+	protected void checkLength(AChromosome<?> chromosome) {
+		if (chromosome.getGenLength() != genLength) {
+			throw new IllegalArgumentException("Chromosome has " + chromosome.getGenLength() + " genes, codec has " + genLength);
+		}
+	}
+
+	/**
+     * Codecs are equal when they read and write the same chromosomes.
+     */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		return obj != null && obj.getClass() == getClass() && ((AGeneCodec) obj).genLength == genLength;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * getId() + genLength;
+	}
+}
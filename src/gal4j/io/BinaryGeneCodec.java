@@ -0,0 +1,58 @@
+package gal4j.io;
+
+import java.nio.ByteBuffer;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.BinaryChromosome;
+
+/**
+ * Codec of {@link BinaryChromosome}, the packed words are stored as they are, 8 bytes per 64 genes.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class BinaryGeneCodec extends AGeneCodec {
+
+	/** Number of words of every chromosome */
+	private final int words;
+
+	/**
+     * Constructs a codec of binary chromosomes.
+     *
+     * @param genLength the number of genes of every chromosome
+     */
+	public BinaryGeneCodec(int genLength) {
+		super(genLength);
+		this.words = (genLength + 63) >>> 6;
+	}
+
+
+	@Override
+	public int getId() {
+		return BINARY;
+	}
+
+	@Override
+	public int getGeneBytes() {
+		return words * Long.BYTES;
+	}
+
+	@Override
+	public AChromosome<?> newChromosome() {
+		return new BinaryChromosome(genLength);
+	}
+
+	@Override
+	public void encode(AChromosome<?> chromosome, ByteBuffer out) {
+		checkLength(chromosome);
+		out.asLongBuffer().put(((BinaryChromosome) chromosome).getWords());
+		out.position(out.position() + getGeneBytes());
+	}
+
+	@Override
+	public void decode(ByteBuffer in, AChromosome<?> chromosome) {
+		checkLength(chromosome);
+		in.asLongBuffer().get(((BinaryChromosome) chromosome).getWords());
+		in.position(in.position() + getGeneBytes());
+	}
+}
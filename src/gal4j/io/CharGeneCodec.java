@@ -0,0 +1,63 @@
+package gal4j.io;
+
+import java.nio.ByteBuffer;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.CharChromosome;
+
+/**
+ * Codec of {@link CharChromosome}, every gene is stored as a 2 byte UTF-16 unit.
+ * Unset genes are stored as {@link #UNSET}, a code point which is not a character.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class CharGeneCodec extends AGeneCodec {
+
+	/** Stored value of an unset gene */
+	public static final char UNSET = '\uFFFF';
+
+	/**
+     * Constructs a codec of char chromosomes.
+     *
+     * @param genLength the number of genes of every chromosome
+     */
+	public CharGeneCodec(int genLength) {
+		super(genLength);
+	}
+
+
+	@Override
+	public int getId() {
+		return CHAR;
+	}
+
+	@Override
+	public int getGeneBytes() {
+		return genLength * Character.BYTES;
+	}
+
+	@Override
+	public AChromosome<?> newChromosome() {
+		return new CharChromosome(genLength);
+	}
+
+	@Override
+	public void encode(AChromosome<?> chromosome, ByteBuffer out) {
+		checkLength(chromosome);
+		Character[] genes = ((CharChromosome) chromosome).getGenes();
+		for (Character gene : genes) {
+			out.putChar(gene == null ? UNSET : gene);
+		}
+	}
+
+	@Override
+	public void decode(ByteBuffer in, AChromosome<?> chromosome) {
+		checkLength(chromosome);
+		Character[] genes = ((CharChromosome) chromosome).getGenes();
+		for (int i = 0; i < genes.length; i++) {
+			char gene = in.getChar();
+			genes[i] = gene == UNSET ? null : gene;
+		}
+	}
+}
@@ -0,0 +1,296 @@
+package gal4j.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import gal4j.algorithm.Population;
+import gal4j.chromosome.AChromosome;
+
+/**
+ * Snapshot of a run of the genetic algorithm from which the run can be resumed.
+ *
+ * The binary format (big endian) is:
+ * <pre>
+ * int    magic "GALC"
+ * short  version
+ * int    generation of the population
+ * long   number of fitness evaluations so far
+ * long   state of the random generator of the engine
+ * codec  type and parameters of the chromosomes, see {@link AGeneCodec#write(java.io.DataOutput)}
+ * int    population size
+ * block  population size times: double fitness, byte parent flag, genes of {@link AGeneCodec#getGeneBytes()} bytes
+ * byte   1 if the best chromosome so far follows, then double fitness and genes
+ * int    number of component states, each: UTF name, int length, state bytes
+ * long   CRC32 of all previous bytes
+ * </pre>
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public final class Checkpoint {
+
+	/** First bytes of every checkpoint, "GALC" */
+	public static final int MAGIC = 0x47414C43;
+	/** Version of the format */
+	public static final short VERSION = 1;
+
+	/** Generation of the population */
+	private final int generation;
+	/** Number of fitness evaluations so far */
+	private final long evaluations;
+	/** State of the random generator of the engine */
+	private final long randomState;
+	/** Codec of the chromosomes */
+	private final AGeneCodec codec;
+	/** Evaluated population */
+	private final Population population;
+	/** Best chromosome so far, may be null */
+	private final AChromosome<?> best;
+	/** States of the components by their names */
+	private final Map<String, byte[]> states;
+
+	private Checkpoint(int generation, long evaluations, long randomState, AGeneCodec codec,
+			Population population, AChromosome<?> best, Map<String, byte[]> states) {
+		this.generation = generation;
+		this.evaluations = evaluations;
+		this.randomState = randomState;
+		this.codec = codec;
+		this.population = population;
+		this.best = best;
+		this.states = states;
+	}
+
+
+	/**
+     * Encodes a snapshot of a run. The chromosomes are copied into the result, so the run can go on
+     * while the result is written elsewhere.
+     *
+     * @param  codec       the codec of the chromosomes
+     * @param  population  the evaluated population
+     * @param  evaluations the number of fitness evaluations so far
+     * @param  randomState the state of the random generator of the engine
+     * @param  best        the best chromosome so far, may be null
+     * @param  components  the components whose state is saved, by their names
+     * @return the encoded checkpoint
+     * @throws IOException if the state of a component cannot be written
+     */
+	public static byte[] encode(AGeneCodec codec, Population population, long evaluations, long randomState,
+			AChromosome<?> best, Map<String, ICheckpointable> components) throws IOException {
+		int size = population.getPopulationSize();
+		int record = Double.BYTES + 1 + codec.getGeneBytes();
+
+		ByteArrayOutputStream headBytes = new ByteArrayOutputStream(64);
+		DataOutputStream head = new DataOutputStream(headBytes);
+		head.writeInt(MAGIC);
+		head.writeShort(VERSION);
+		head.writeInt(population.getGeneration());
+		head.writeLong(evaluations);
+		head.writeLong(randomState);
+		codec.write(head);
+		head.writeInt(size);
+
+		ByteArrayOutputStream tailBytes = new ByteArrayOutputStream(256);
+		DataOutputStream tail = new DataOutputStream(tailBytes);
+		tail.writeBoolean(best != null);
+		if (best != null) {
+			ByteBuffer genes = ByteBuffer.allocate(record - 1);
+			genes.putDouble(best.getFitness());
+			codec.encode(best, genes);
+			tail.write(genes.array());
+		}
+		tail.writeInt(components.size());
+		ByteArrayOutputStream state = new ByteArrayOutputStream();
+		for (Map.Entry<String, ICheckpointable> component : components.entrySet()) {
+			state.reset();
+			component.getValue().writeState(new DataOutputStream(state));
+			tail.writeUTF(component.getKey());
+			tail.writeInt(state.size());
+			state.writeTo(tail);
+		}
+
+		// the chromosomes are encoded right into the result, the largest part is not copied again
+		long length = (long) headBytes.size() + (long) size * record + tailBytes.size() + Long.BYTES;
+		if (length > Integer.MAX_VALUE - 8) {
+			throw new IOException("Checkpoint of " + length + " bytes is too large.");
+		}
+		byte[] data = new byte[(int) length];
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		buffer.put(headBytes.toByteArray());
+		for (int i = 0; i < size; i++) {
+			AChromosome<?> chromosome = population.getChromosome(i);
+			buffer.putDouble(chromosome.getFitness());
+			buffer.put((byte) (chromosome.isParent() ? 1 : 0));
+			codec.encode(chromosome, buffer);
+		}
+		buffer.put(tailBytes.toByteArray());
+
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, data.length - Long.BYTES);
+		buffer.putLong(crc.getValue());
+		return data;
+	}
+
+	/**
+     * Reads a checkpoint file.
+     *
+     * @param  file the checkpoint file
+     * @return the checkpoint
+     * @throws IOException if the file cannot be read, is damaged or has an unknown format
+     */
+	public static Checkpoint read(Path file) throws IOException {
+		return decode(Files.readAllBytes(file));
+	}
+
+	/**
+     * Decodes a checkpoint encoded by {@link #encode}.
+     *
+     * @param  data the encoded checkpoint
+     * @return the checkpoint
+     * @throws IOException if the data are damaged or have an unknown format
+     */
+	public static Checkpoint decode(byte[] data) throws IOException {
+		if (data.length < Integer.BYTES + Short.BYTES + Long.BYTES) {
+			throw new IOException("Checkpoint is truncated.");
+		}
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, data.length - Long.BYTES);
+		if (crc.getValue() != ByteBuffer.wrap(data, data.length - Long.BYTES, Long.BYTES).getLong()) {
+			throw new IOException("Checkpoint is damaged, checksum does not match.");
+		}
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, data.length - Long.BYTES));
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a checkpoint.");
+		}
+		short version = in.readShort();
+		if (version != VERSION) {
+			throw new IOException("Unsupported checkpoint version: " + version);
+		}
+		int generation = in.readInt();
+		long evaluations = in.readLong();
+		long randomState = in.readLong();
+		AGeneCodec codec = AGeneCodec.read(in);
+
+		int size = in.readInt();
+		int record = Double.BYTES + 1 + codec.getGeneBytes();
+		if (size < 0 || (long) size * record > in.available()) {
+			throw new IOException("Invalid population size: " + size);
+		}
+		byte[] blockBytes = new byte[size * record];
+		in.readFully(blockBytes);
+		ByteBuffer block = ByteBuffer.wrap(blockBytes);
+		Population population = new Population(generation);
+		for (int i = 0; i < size; i++) {
+			AChromosome<?> chromosome = codec.newChromosome();
+			chromosome.setFitness(block.getDouble());
+			chromosome.setParent(block.get() != 0);
+			codec.decode(block, chromosome);
+			population.addChromosome(chromosome);
+		}
+
+		AChromosome<?> best = null;
+		if (in.readBoolean()) {
+			byte[] bestBytes = new byte[record - 1];
+			in.readFully(bestBytes);
+			ByteBuffer genes = ByteBuffer.wrap(bestBytes);
+			best = codec.newChromosome();
+			best.setFitness(genes.getDouble());
+			codec.decode(genes, best);
+		}
+
+		int count = in.readInt();
+		Map<String, byte[]> states = new LinkedHashMap<>();
+		for (int i = 0; i < count; i++) {
+			String name = in.readUTF();
+			int length = in.readInt();
+			if (length < 0 || length > in.available()) {
+				throw new IOException("Invalid state length of " + name + ": " + length);
+			}
+			byte[] state = new byte[length];
+			in.readFully(state);
+			states.put(name, state);
+		}
+		return new Checkpoint(generation, evaluations, randomState, codec, population, best, states);
+	}
+
+	/**
+     * Restores the saved state of a component.
+     *
+     * @param  name      the name under which the state was saved
+     * @param  component the component to restore
+     * @return true if the checkpoint contains a state of the name, otherwise false and the component is not changed
+     * @throws IOException if the saved state does not fit the component
+     */
+	public boolean restore(String name, ICheckpointable component) throws IOException {
+		byte[] state = states.get(name);
+		if (state == null) {
+			return false;
+		}
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(state));
+		component.readState(in);
+		if (in.available() > 0) {
+			throw new IOException("State of " + name + " does not fit " + component.getClass().getSimpleName());
+		}
+		return true;
+	}
+
+	/**
+     * @return the generation of the population
+     */
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+     * @return the number of fitness evaluations so far
+     */
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+     * @return the state of the random generator of the engine
+     */
+	public long getRandomState() {
+		return randomState;
+	}
+
+	/**
+     * @return the codec of the chromosomes
+     */
+	public AGeneCodec getCodec() {
+		return codec;
+	}
+
+	/**
+     * @return the evaluated population
+     */
+	public Population getPopulation() {
+		return population;
+	}
+
+	/**
+     * @return the best chromosome so far, null if none was saved
+     */
+	public AChromosome<?> getBest() {
+		return best;
+	}
+
+	/**
+     * @return the names of the saved component states
+     */
+	public Set<String> getStateNames() {
+		return Collections.unmodifiableSet(states.keySet());
+	}
+}
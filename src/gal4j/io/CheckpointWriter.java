@@ -0,0 +1,209 @@
+package gal4j.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes checkpoints to a file in its own thread, so the disk never stalls the engine.
+ *
+ * Every checkpoint is written to a temporary file next to the target, forced to the disk and then atomically
+ * renamed over the target, so after a crash the file holds either the previous or the new checkpoint, never a mix.
+ * Only the newest checkpoint waits for writing: when a new one is submitted before the waiting one is written,
+ * the waiting one is skipped and counted.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class CheckpointWriter implements AutoCloseable {
+
+	/** File the checkpoints are written to */
+	private final Path file;
+	/** Temporary file renamed to the target after it is written */
+	private final Path temp;
+	/** Thread writing the checkpoints */
+	private final Thread thread;
+
+	/** Checkpoint waiting for writing, null if none */
+	private byte[] pending;
+	/** Whether a checkpoint is being written */
+	private boolean writing;
+	/** Whether the writer is closed */
+	private boolean closed;
+	/** Number of written checkpoints */
+	private long written;
+	/** Number of checkpoints replaced by newer ones before they were written */
+	private long skipped;
+	/** Last failure of writing, null if the last checkpoint was written */
+	private IOException failure;
+
+	/**
+     * Constructs a CheckpointWriter and starts its thread.
+     *
+     * @param file the file the checkpoints are written to
+     */
+	public CheckpointWriter(Path file) {
+		if (file == null) {
+			throw new IllegalArgumentException("Checkpoint file is missing.");
+		}
+		Path absolute = file.toAbsolutePath();
+		this.file = absolute;
+		this.temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+		this.thread = new Thread(this::work, "gal4j-checkpoint");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+
+	/**
+     * Hands an encoded checkpoint over to the writing thread and returns immediately.
+     *
+     * @param checkpoint the checkpoint encoded by {@link Checkpoint#encode}
+     */
+	public synchronized void submit(byte[] checkpoint) {
+		if (closed) {
+			throw new IllegalStateException("Checkpoint writer is closed.");
+		}
+		if (pending != null) {
+			skipped++;
+		}
+		pending = checkpoint;
+		notifyAll();
+	}
+
+	/**
+	 * Writes the submitted checkpoints until the writer is closed.
+	 */
+	private void work() {
+		while (true) {
+			byte[] checkpoint;
+			synchronized (this) {
+				while (pending == null && !closed) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						// the thread is stopped only by closing the writer
+					}
+				}
+				if (pending == null) {
+					return;
+				}
+				checkpoint = pending;
+				pending = null;
+				writing = true;
+			}
+
+			IOException error = null;
+			try {
+				write(checkpoint);
+			} catch (IOException e) {
+				error = e;
+			}
+
+			synchronized (this) {
+				writing = false;
+				failure = error;
+				if (error == null) {
+					written++;
+				}
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Writes the checkpoint to the temporary file, forces it to the disk and renames it to the target.
+	 */
+	private void write(byte[] checkpoint) throws IOException {
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.wrap(checkpoint);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+		Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+		// the rename is durable once the directory is forced, not every platform can open a directory
+		try (FileChannel directory = FileChannel.open(file.getParent(), StandardOpenOption.READ)) {
+			directory.force(true);
+		} catch (IOException | UnsupportedOperationException e) {
+			// the checkpoint itself is already on the disk
+		}
+	}
+
+	/**
+     * Waits until the submitted checkpoints are written.
+     *
+     * @return true if the last checkpoint was written, false if writing it failed, see {@link #getFailure()}
+     */
+	public synchronized boolean flush() {
+		boolean interrupted = false;
+		while (pending != null || writing) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		return failure == null;
+	}
+
+	/**
+     * Writes the submitted checkpoints and stops the writing thread.
+     */
+	@Override
+	public void close() {
+		synchronized (this) {
+			closed = true;
+			notifyAll();
+		}
+		boolean interrupted = false;
+		while (thread.isAlive()) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+     * @return the file the checkpoints are written to
+     */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+     * @return the number of written checkpoints
+     */
+	public synchronized long getWritten() {
+		return written;
+	}
+
+	/**
+     * @return the number of checkpoints replaced by newer ones before they were written
+     */
+	public synchronized long getSkipped() {
+		return skipped;
+	}
+
+	/**
+     * @return the failure of writing the last checkpoint, null if it was written
+     */
+	public synchronized IOException getFailure() {
+		return failure;
+	}
+}
@@ -0,0 +1,92 @@
+package gal4j.io;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.DecimalChromosome;
+
+/**
+ * Codec of {@link DecimalChromosome}, every gene is stored as 4 bytes.
+ * Unset genes are stored as {@link #UNSET}.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class DecimalGeneCodec extends AGeneCodec {
+
+	/** Stored value of an unset gene */
+	public static final int UNSET = Integer.MIN_VALUE;
+
+	/** Whether each number appears only once */
+	private final boolean numberOnlyOnce;
+
+	/**
+     * Constructs a codec of decimal chromosomes.
+     *
+     * @param genLength      the number of genes of every chromosome
+     * @param numberOnlyOnce whether each number from 0 to genLength-1 appears exactly once
+     */
+	public DecimalGeneCodec(int genLength, boolean numberOnlyOnce) {
+		super(genLength);
+		this.numberOnlyOnce = numberOnlyOnce;
+	}
+
+
+	@Override
+	public int getId() {
+		return DECIMAL;
+	}
+
+	@Override
+	protected void writeParameters(DataOutput out) throws IOException {
+		out.writeBoolean(numberOnlyOnce);
+	}
+
+	@Override
+	public int getGeneBytes() {
+		return genLength * Integer.BYTES;
+	}
+
+	@Override
+	public AChromosome<?> newChromosome() {
+		return new DecimalChromosome(genLength, numberOnlyOnce);
+	}
+
+	@Override
+	public void encode(AChromosome<?> chromosome, ByteBuffer out) {
+		checkLength(chromosome);
+		Integer[] genes = ((DecimalChromosome) chromosome).getGenes();
+		for (Integer gene : genes) {
+			out.putInt(gene == null ? UNSET : gene);
+		}
+	}
+
+	@Override
+	public void decode(ByteBuffer in, AChromosome<?> chromosome) {
+		checkLength(chromosome);
+		Integer[] genes = ((DecimalChromosome) chromosome).getGenes();
+		for (int i = 0; i < genes.length; i++) {
+			int gene = in.getInt();
+			genes[i] = gene == UNSET ? null : gene;
+		}
+	}
+
+	/**
+     * @return whether each number from 0 to genLength-1 appears exactly once
+     */
+	public boolean isNumberOnlyOnce() {
+		return numberOnlyOnce;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return super.equals(obj) && ((DecimalGeneCodec) obj).numberOnlyOnce == numberOnlyOnce;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + Boolean.hashCode(numberOnlyOnce);
+	}
+}
@@ -0,0 +1,96 @@
+package gal4j.io;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.DoubleChromosome;
+
+/**
+ * Codec of {@link DoubleChromosome}, every gene is stored as 8 bytes, the range of the values once per block.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class DoubleGeneCodec extends AGeneCodec {
+
+	/** Minimum possible value of a gene */
+	private final double min;
+	/** Maximum possible value of a gene */
+	private final double max;
+
+	/**
+     * Constructs a codec of double chromosomes.
+     *
+     * @param genLength the number of genes of every chromosome
+     * @param min       the minimum possible value of a gene
+     * @param max       the maximum possible value of a gene
+     */
+	public DoubleGeneCodec(int genLength, double min, double max) {
+		super(genLength);
+		this.min = min;
+		this.max = max;
+	}
+
+
+	@Override
+	public int getId() {
+		return DOUBLE;
+	}
+
+	@Override
+	protected void writeParameters(DataOutput out) throws IOException {
+		out.writeDouble(min);
+		out.writeDouble(max);
+	}
+
+	@Override
+	public int getGeneBytes() {
+		return genLength * Double.BYTES;
+	}
+
+	@Override
+	public AChromosome<?> newChromosome() {
+		return new DoubleChromosome(genLength, min, max);
+	}
+
+	@Override
+	public void encode(AChromosome<?> chromosome, ByteBuffer out) {
+		checkLength(chromosome);
+		out.asDoubleBuffer().put(((DoubleChromosome) chromosome).getValues());
+		out.position(out.position() + getGeneBytes());
+	}
+
+	@Override
+	public void decode(ByteBuffer in, AChromosome<?> chromosome) {
+		checkLength(chromosome);
+		in.asDoubleBuffer().get(((DoubleChromosome) chromosome).getValues());
+		in.position(in.position() + getGeneBytes());
+	}
+
+	/**
+     * @return the minimum possible value of a gene
+     */
+	public double getMin() {
+		return min;
+	}
+
+	/**
+     * @return the maximum possible value of a gene
+     */
+	public double getMax() {
+		return max;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return super.equals(obj) && Double.compare(((DoubleGeneCodec) obj).min, min) == 0
+				&& Double.compare(((DoubleGeneCodec) obj).max, max) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + Double.hashCode(min) + 17 * Double.hashCode(max);
+	}
+}
@@ -0,0 +1,34 @@
+package gal4j.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Interface for components of the engine whose state changes during a run and is saved in checkpoints,
+ * such as operators with a schedule, adaptive operator pools, statistics and termination policies.
+ *
+ * The configuration of the component is not saved, a run is resumed with a component constructed
+ * the same way as in the checkpointed run.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public interface ICheckpointable {
+
+	/**
+	 * Writes the state of the component.
+	 *
+	 * @param out the output to write to
+	 * @throws IOException if the state cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException;
+
+	/**
+	 * Restores the state written by {@link #writeState(DataOutput)}.
+	 *
+	 * @param in the input to read from
+	 * @throws IOException if the state cannot be read or does not fit the component
+	 */
+	public void readState(DataInput in) throws IOException;
+}
@@ -0,0 +1,299 @@
+package gal4j.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import gal4j.algorithm.Population;
+import gal4j.chromosome.AChromosome;
+
+/**
+ * Read only view of a population file written by {@link PopulationFile}, mapped into memory.
+ *
+ * Opening the file reads only the header, the columns are mapped and the operating system pages them in
+ * when they are accessed. Fitness values and genes are read from the mapping by their offsets
+ * without creating objects, chromosome objects are created only by {@link #getChromosome(int)}
+ * and {@link #toPopulation()}. Files larger than 2 GB are mapped in several segments.
+ *
+ * The view is thread safe, it never changes the position of the mapped buffers.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class MappedPopulation {
+
+	/** Generation of the population */
+	private final int generation;
+	/** Number of chromosomes */
+	private final int size;
+	/** Codec of the chromosomes */
+	private final AGeneCodec codec;
+	/** Fitness of every chromosome */
+	private final Column fitness;
+	/** Genes of every chromosome */
+	private final Column genes;
+
+	private MappedPopulation(int generation, int size, AGeneCodec codec, Column fitness, Column genes) {
+		this.generation = generation;
+		this.size = size;
+		this.codec = codec;
+		this.fitness = fitness;
+		this.genes = genes;
+	}
+
+
+	/**
+     * Maps a population file.
+     *
+     * @param  file the population file
+     * @return the mapped population
+     * @throws IOException if the file cannot be mapped, is truncated or has an unknown format
+     */
+	public static MappedPopulation open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long length = channel.size();
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(length, 4096));
+			if (header.remaining() < 32 || header.getInt() != PopulationFile.MAGIC) {
+				throw new IOException("Not a population file.");
+			}
+			short version = header.getShort();
+			if (version != PopulationFile.VERSION) {
+				throw new IOException("Unsupported population file version: " + version);
+			}
+			header.getShort();
+			int generation = header.getInt();
+			int size = header.getInt();
+			long fitnessOffset = header.getLong();
+			long genesOffset = header.getLong();
+
+			byte[] codecBytes = new byte[header.remaining()];
+			header.get(codecBytes);
+			AGeneCodec codec = AGeneCodec.read(new DataInputStream(new ByteArrayInputStream(codecBytes)));
+
+			if (size < 0 || fitnessOffset < 0 || genesOffset != fitnessOffset + (long) size * Double.BYTES
+					|| genesOffset + (long) size * codec.getGeneBytes() > length) {
+				throw new IOException("Population file is truncated or damaged.");
+			}
+			// the mappings stay valid after the channel is closed
+			Column fitness = new Column(channel, fitnessOffset, size, Double.BYTES);
+			Column genes = new Column(channel, genesOffset, size, codec.getGeneBytes());
+			return new MappedPopulation(generation, size, codec, fitness, genes);
+		}
+	}
+
+	/**
+     * @return the generation of the population
+     */
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+     * @return the number of chromosomes
+     */
+	public int size() {
+		return size;
+	}
+
+	/**
+     * @return the codec of the chromosomes
+     */
+	public AGeneCodec getCodec() {
+		return codec;
+	}
+
+	/**
+     * @return the number of genes of every chromosome
+     */
+	public int getGenLength() {
+		return codec.getGenLength();
+	}
+
+	/**
+     * @param  index the index of the chromosome
+     * @return the fitness of the chromosome
+     */
+	public double getFitness(int index) {
+		checkIndex(index);
+		return fitness.segment(index).getDouble(fitness.position(index));
+	}
+
+	/**
+     * @return the index of the chromosome with the highest fitness, -1 if the population is empty
+     */
+	public int getBestIndex() {
+		int best = -1;
+		double bestFitness = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < size; i++) {
+			double value = fitness.segment(i).getDouble(fitness.position(i));
+			if (best < 0 || value > bestFitness) {
+				best = i;
+				bestFitness = value;
+			}
+		}
+		return best;
+	}
+
+	/**
+     * Returns the genes of a chromosome encoded by the codec, the buffer is a read only view of the mapping.
+     *
+     * @param  index the index of the chromosome
+     * @return the genes, {@link AGeneCodec#getGeneBytes()} bytes from position 0
+     */
+	public ByteBuffer getGenes(int index) {
+		checkIndex(index);
+		return genes.segment(index).slice(genes.position(index), codec.getGeneBytes());
+	}
+
+	/**
+     * @param  index the index of a binary chromosome
+     * @param  word  the index of the word of 64 genes
+     * @return the packed genes, gene i is bit (i % 64) of word (i / 64)
+     */
+	public long getWord(int index, int word) {
+		checkCodec(AGeneCodec.BINARY);
+		checkIndex(index);
+		if (word < 0 || word >= (codec.getGenLength() + 63) >>> 6) {
+			throw new IndexOutOfBoundsException("Word " + word + " out of " + ((codec.getGenLength() + 63) >>> 6));
+		}
+		return genes.segment(index).getLong(genes.position(index) + word * Long.BYTES);
+	}
+
+	/**
+     * @param  index the index of a binary chromosome
+     * @param  gene  the index of the gene
+     * @return the gene, 0 or 1
+     */
+	public int getBit(int index, int gene) {
+		checkGene(gene);
+		return (int) (getWord(index, gene >>> 6) >>> gene) & 1;
+	}
+
+	/**
+     * @param  index the index of a decimal chromosome
+     * @param  gene  the index of the gene
+     * @return the gene, {@link DecimalGeneCodec#UNSET} if it is not set
+     */
+	public int getInt(int index, int gene) {
+		checkCodec(AGeneCodec.DECIMAL);
+		checkIndex(index);
+		checkGene(gene);
+		return genes.segment(index).getInt(genes.position(index) + gene * Integer.BYTES);
+	}
+
+	/**
+     * @param  index the index of a double chromosome
+     * @param  gene  the index of the gene
+     * @return the gene
+     */
+	public double getDouble(int index, int gene) {
+		checkCodec(AGeneCodec.DOUBLE);
+		checkIndex(index);
+		checkGene(gene);
+		return genes.segment(index).getDouble(genes.position(index) + gene * Double.BYTES);
+	}
+
+	/**
+     * @param  index the index of a char chromosome
+     * @param  gene  the index of the gene
+     * @return the gene, {@link CharGeneCodec#UNSET} if it is not set
+     */
+	public char getChar(int index, int gene) {
+		checkCodec(AGeneCodec.CHAR);
+		checkIndex(index);
+		checkGene(gene);
+		return genes.segment(index).getChar(genes.position(index) + gene * Character.BYTES);
+	}
+
+	/**
+     * Reads a chromosome into a new chromosome object.
+     *
+     * @param  index the index of the chromosome
+     * @return the chromosome with its fitness
+     */
+	public AChromosome<?> getChromosome(int index) {
+		AChromosome<?> chromosome = codec.newChromosome();
+		readInto(index, chromosome);
+		return chromosome;
+	}
+
+	/**
+     * Reads a chromosome into an existing chromosome of the codec, so chromosomes can be reused.
+     *
+     * @param index      the index of the chromosome
+     * @param chromosome the chromosome to overwrite with the genes and the fitness
+     */
+	public void readInto(int index, AChromosome<?> chromosome) {
+		codec.decode(getGenes(index), chromosome);
+		chromosome.setFitness(getFitness(index));
+	}
+
+	/**
+     * Reads all chromosomes into a new population.
+     *
+     * @return the population with the generation of the file
+     */
+	public Population toPopulation() {
+		Population population = new Population(generation);
+		for (int i = 0; i < size; i++) {
+			population.addChromosome(getChromosome(i));
+		}
+		return population;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Chromosome index " + index + " out of " + size);
+		}
+	}
+
+	private void checkGene(int gene) {
+		if (gene < 0 || gene >= codec.getGenLength()) {
+			throw new IndexOutOfBoundsException("Gene index " + gene + " out of " + codec.getGenLength());
+		}
+	}
+
+	private void checkCodec(int id) {
+		if (codec.getId() != id) {
+			throw new IllegalStateException("Population has chromosomes of codec " + codec.getId() + ", not " + id);
+		}
+	}
+
+	/**
+	 * Column of fixed width values mapped in segments of at most 2 GB, a value never crosses two segments.
+	 */
+	private static final class Column {
+
+		/** Mapped segments */
+		private final MappedByteBuffer[] segments;
+		/** Number of values in every segment */
+		private final int perSegment;
+		/** Width of a value in bytes */
+		private final int width;
+
+		Column(FileChannel channel, long offset, int count, int width) throws IOException {
+			this.width = width;
+			this.perSegment = Math.max(1, Integer.MAX_VALUE / Math.max(width, 1));
+			int segmentCount = count == 0 ? 0 : (count - 1) / perSegment + 1;
+			this.segments = new MappedByteBuffer[segmentCount];
+			for (int s = 0; s < segmentCount; s++) {
+				int values = Math.min(perSegment, count - s * perSegment);
+				long start = offset + (long) s * perSegment * width;
+				segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, start, (long) values * width);
+			}
+		}
+
+		ByteBuffer segment(int index) {
+			return segments[index / perSegment];
+		}
+
+		int position(int index) {
+			return (index % perSegment) * width;
+		}
+	}
+}
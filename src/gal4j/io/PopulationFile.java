@@ -0,0 +1,165 @@
+package gal4j.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import gal4j.algorithm.Population;
+
+/**
+ * Compact binary format of a population, designed to be memory mapped by {@link MappedPopulation}.
+ *
+ * The file (big endian) consists of a header, a fitness column and a block of genes of every chromosome:
+ * <pre>
+ * int    magic "GALP"
+ * short  version
+ * short  reserved, 0
+ * int    generation of the population
+ * int    population size
+ * long   offset of the fitness column
+ * long   offset of the gene blocks
+ * codec  type and parameters of the chromosomes, see {@link AGeneCodec#write(java.io.DataOutput)}
+ * ...    padding to a multiple of 8 bytes
+ * double fitness of every chromosome
+ * block  genes of every chromosome, {@link AGeneCodec#getGeneBytes()} bytes each
+ * </pre>
+ * Every value is at an offset computed from the index of the chromosome, so a mapped file is read
+ * without parsing and a single chromosome or its fitness costs no more than the bytes read.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public final class PopulationFile {
+
+	/** First bytes of every population file, "GALP" */
+	public static final int MAGIC = 0x47414C50;
+	/** Version of the format */
+	public static final short VERSION = 1;
+
+	/** Size of the buffer used for writing the columns */
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private PopulationFile() {
+	}
+
+	/**
+     * Writes the population with the codec of its first chromosome.
+     *
+     * @param file       the file to write, an existing file is replaced
+     * @param population the population, all chromosomes have the same type and parameters
+     * @throws IOException if the file cannot be written
+     */
+	public static void write(Path file, Population population) throws IOException {
+		if (population.getPopulationSize() == 0) {
+			throw new IllegalArgumentException("Empty population has no codec, use write(file, population, codec).");
+		}
+		write(file, population, AGeneCodec.forChromosome(population.getChromosome(0)));
+	}
+
+	/**
+     * Writes the population.
+     *
+     * @param file       the file to write, an existing file is replaced
+     * @param population the population
+     * @param codec      the codec of the chromosomes of the population
+     * @throws IOException if the file cannot be written
+     */
+	public static void write(Path file, Population population, AGeneCodec codec) throws IOException {
+		int size = population.getPopulationSize();
+		byte[] header = header(codec, population.getGeneration(), size);
+		long fitnessOffset = header.length;
+		long genesOffset = fitnessOffset + (long) size * Double.BYTES;
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeFully(channel, ByteBuffer.wrap(header));
+
+			ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE, codec.getGeneBytes()));
+			for (int i = 0; i < size; i++) {
+				if (buffer.remaining() < Double.BYTES) {
+					flush(channel, buffer);
+				}
+				buffer.putDouble(population.getChromosome(i).getFitness());
+			}
+			flush(channel, buffer);
+
+			for (int i = 0; i < size; i++) {
+				if (buffer.remaining() < codec.getGeneBytes()) {
+					flush(channel, buffer);
+				}
+				codec.encode(population.getChromosome(i), buffer);
+			}
+			flush(channel, buffer);
+
+			if (channel.position() != genesOffset + (long) size * codec.getGeneBytes()) {
+				throw new IOException("Population file has an unexpected length: " + channel.position());
+			}
+			channel.force(true);
+		}
+	}
+
+	/**
+     * Writes the population and returns it mapped from the written file.
+     *
+     * @param  file       the file to write, an existing file is replaced
+     * @param  population the population, all chromosomes have the same type and parameters
+     * @return the mapped population
+     * @throws IOException if the file cannot be written or mapped
+     */
+	public static MappedPopulation writeAndMap(Path file, Population population) throws IOException {
+		write(file, population);
+		return MappedPopulation.open(file);
+	}
+
+	/**
+     * Reads the whole population into chromosome objects. Large populations should be accessed
+     * through {@link MappedPopulation} instead.
+     *
+     * @param  file the population file
+     * @return the population
+     * @throws IOException if the file cannot be read or has an unknown format
+     */
+	public static Population read(Path file) throws IOException {
+		return MappedPopulation.open(file).toPopulation();
+	}
+
+	/**
+	 * Encodes the header padded to a multiple of 8 bytes.
+	 */
+	private static byte[] header(AGeneCodec codec, int generation, int size) throws IOException {
+		ByteArrayOutputStream codecBytes = new ByteArrayOutputStream();
+		codec.write(new DataOutputStream(codecBytes));
+
+		int length = Integer.BYTES + 2 * Short.BYTES + 2 * Integer.BYTES + 2 * Long.BYTES + codecBytes.size();
+		length = (length + 7) & ~7;
+		long fitnessOffset = length;
+		long genesOffset = fitnessOffset + (long) size * Double.BYTES;
+
+		ByteBuffer header = ByteBuffer.allocate(length);
+		header.putInt(MAGIC);
+		header.putShort(VERSION);
+		header.putShort((short) 0);
+		header.putInt(generation);
+		header.putInt(size);
+		header.putLong(fitnessOffset);
+		header.putLong(genesOffset);
+		header.put(codecBytes.toByteArray());
+		return header.array();
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		writeFully(channel, buffer);
+		buffer.clear();
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+}
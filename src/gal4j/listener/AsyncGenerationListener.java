@@ -0,0 +1,136 @@
+package gal4j.listener;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import gal4j.algorithm.Config;
+
+/**
+ * Listener which delivers events to another listener in its own thread, so a slow listener never stalls the engine.
+ *
+ * Generation events wait in a bounded queue. When the queue is full, new generation events are dropped
+ * and counted instead of blocking the engine. Start and finish notifications are never dropped
+ * and keep their order with the generation events.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class AsyncGenerationListener implements IGenerationListener, AutoCloseable {
+
+	/** Marker which stops the delivering thread */
+	private static final Runnable STOP = () -> { };
+
+	/** Listener receiving the events */
+	private final IGenerationListener delegate;
+	/** Maximal number of waiting generation events */
+	private final int capacity;
+	/** Waiting notifications */
+	private final LinkedBlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+	/** Number of waiting generation events */
+	private final AtomicInteger pending = new AtomicInteger();
+	/** Number of dropped generation events */
+	private final AtomicLong dropped = new AtomicLong();
+	/** Thread delivering the events */
+	private final Thread thread;
+
+	/**
+     * Constructs an AsyncGenerationListener with a queue of 1024 generation events.
+     *
+     * @param delegate the listener receiving the events
+     */
+	public AsyncGenerationListener(IGenerationListener delegate) {
+		this(delegate, 1024);
+	}
+
+	/**
+     * Constructs an AsyncGenerationListener.
+     *
+     * @param delegate the listener receiving the events
+     * @param capacity the maximal number of waiting generation events
+     */
+	public AsyncGenerationListener(IGenerationListener delegate, int capacity) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("Listener is missing.");
+		}
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Queue capacity must be positive: " + capacity);
+		}
+		this.delegate = delegate;
+		this.capacity = capacity;
+		this.thread = new Thread(this::deliver, "gal4j-listener");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+
+	@Override
+	public void onStart(Config config) {
+		queue.add(() -> delegate.onStart(config));
+	}
+
+	/**
+     * Queues the event, or drops it if the queue is full.
+     *
+     * @param event statistics of the evaluated generation
+     */
+	@Override
+	public void onGeneration(GenerationEvent event) {
+		if (pending.incrementAndGet() > capacity) {
+			pending.decrementAndGet();
+			dropped.incrementAndGet();
+			return;
+		}
+		queue.add(() -> {
+			pending.decrementAndGet();
+			delegate.onGeneration(event);
+		});
+	}
+
+	@Override
+	public void onFinish(GenerationEvent event, String reason) {
+		queue.add(() -> delegate.onFinish(event, reason));
+	}
+
+	/**
+	 * Delivers the queued notifications until the listener is closed.
+	 */
+	private void deliver() {
+		try {
+			while (true) {
+				Runnable task = queue.take();
+				if (task == STOP) {
+					return;
+				}
+				try {
+					task.run();
+				} catch (RuntimeException e) {
+					// a failing listener must not stop the delivery of later events
+					e.printStackTrace();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+     * Delivers the waiting notifications and stops the delivering thread.
+     */
+	@Override
+	public void close() {
+		queue.add(STOP);
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+     * @return the number of generation events dropped because the queue was full
+     */
+	public long getDropped() {
+		return dropped.get();
+	}
+}
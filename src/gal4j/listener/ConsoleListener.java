@@ -0,0 +1,93 @@
+package gal4j.listener;
+
+import java.io.PrintStream;
+
+import gal4j.algorithm.Config;
+
+/**
+ * Listener which prints the configuration, the progress of the run and the reason of its end to the console.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class ConsoleListener implements IGenerationListener {
+
+	/** Stream the output is printed to */
+	private final PrintStream out;
+	/** Every how many generations a line is printed, 0 prints no generations */
+	private final int interval;
+
+	/**
+     * Constructs a ConsoleListener printing every generation to the standard output.
+     */
+	public ConsoleListener() {
+		this(System.out, 1);
+	}
+
+	/**
+     * Constructs a ConsoleListener printing to the standard output.
+     *
+     * @param interval every how many generations a line is printed, 0 prints only the start and the end
+     */
+	public ConsoleListener(int interval) {
+		this(System.out, interval);
+	}
+
+	/**
+     * Constructs a ConsoleListener.
+     *
+     * @param out      the stream to print to
+     * @param interval every how many generations a line is printed, 0 prints only the start and the end
+     */
+	public ConsoleListener(PrintStream out, int interval) {
+		if (interval < 0) {
+			throw new IllegalArgumentException("Interval must not be negative: " + interval);
+		}
+		this.out = out;
+		this.interval = interval;
+	}
+
+
+	/**
+     * Prints a summary of the configuration.
+     *
+     * @param conf the checked configuration of the run
+     */
+	@Override
+	public void onStart(Config conf) {
+		out.println("START");
+		out.println("-----------------------------");
+
+		out.printf("%-20s %d%n", "Population size:", conf.getPopulationSize());
+		out.printf("%-20s %d%n", "Generations:", conf.getGenetarions());
+		out.printf("%-20s %d%n", "Gen length:", conf.getGenLength());
+		out.printf("%-20s %.2f%n", "Mutation rate:", conf.getMutationRate());
+		out.printf("%-20s %.2f%n", "Selection rate:", conf.getSelectionRate());
+		out.printf("%-20s %b%n", "Multithread:", conf.isMultithread());
+		out.printf("%-20s %d%n", "Threads:", conf.getThreads());
+
+		if (conf.getDelta() > 0 && conf.getApproximateFinalFit() > 0) {
+			out.printf("%-20s %.2f%n", "Approximate fit:", conf.getApproximateFinalFit());
+			out.printf("%-20s %.2f%n", "Delta:", conf.getDelta());
+		}
+		out.println("-----------------------------");
+	}
+
+	@Override
+	public void onGeneration(GenerationEvent event) {
+		if (interval > 0 && event.getGeneration() % interval == 0) {
+			out.println(event);
+		}
+	}
+
+	@Override
+	public void onFinish(GenerationEvent event, String reason) {
+		out.println("-----------------------------");
+		out.println(reason);
+		if (event != null) {
+			out.println("Algorithm is terminating on iteration " + event.getGeneration());
+			out.println("best: " + event.getBestFitness());
+		}
+		out.println("-----------------------------");
+	}
+}
@@ -0,0 +1,115 @@
+package gal4j.listener;
+
+import gal4j.utils.FitnessSummary;
+
+/**
+ * Immutable statistics of one evaluated generation passed to {@link IGenerationListener}.
+ *
+ * The fitness statistics are collected while the generation is evaluated. Diversity is measured
+ * as the standard deviation of the fitness, a population which has converged has diversity close to 0.
+ * Phase timings cover the evaluation of the generation and the selection, breeding, mutation and local search
+ * which created it, they are 0 for the initial population.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public final class GenerationEvent {
+
+	/**
+	 * Phases of one generation of the algorithm.
+	 */
+	public enum Phase {
+		/** Fitness evaluation of the generation */
+		EVALUATION,
+		/** Selection of the parents */
+		SELECTION,
+		/** Crossover of the offspring together with their mutation */
+		BREEDING,
+		/** Mutation of the selected parents */
+		MUTATION,
+		/** Local search of the offspring */
+		LOCAL_SEARCH
+	}
+
+	/** Number of the generation */
+	private final int generation;
+	/** Best fitness of the generation */
+	private final double bestFitness;
+	/** Mean fitness of the generation */
+	private final double meanFitness;
+	/** Worst fitness of the generation */
+	private final double worstFitness;
+	/** Standard deviation of the fitness */
+	private final double diversity;
+	/** Number of fitness evaluations since the start of the run */
+	private final long evaluations;
+	/** Time of every phase in nanoseconds, indexed by the ordinal of the phase */
+	private final long[] phaseNanos;
+	/** Time since the start of the run in nanoseconds */
+	private final long elapsedNanos;
+
+	/**
+     * Constructs an event from the fitness summary of the evaluated generation.
+     *
+     * @param generation   the number of the generation
+     * @param summary      the fitness summary of the generation
+     * @param evaluations  the number of fitness evaluations since the start of the run
+     * @param phaseNanos   the time of every phase in nanoseconds, indexed by {@link Phase#ordinal()}
+     * @param elapsedNanos the time since the start of the run in nanoseconds
+     */
+	public GenerationEvent(int generation, FitnessSummary summary, long evaluations, long[] phaseNanos, long elapsedNanos) {
+		if (phaseNanos.length != Phase.values().length) {
+			throw new IllegalArgumentException("Expected " + Phase.values().length + " phase timings: " + phaseNanos.length);
+		}
+		this.generation = generation;
+		this.bestFitness = summary.getBest();
+		this.meanFitness = summary.getMean();
+		this.worstFitness = summary.getWorst();
+		this.diversity = summary.getStdDev();
+		this.evaluations = evaluations;
+		this.phaseNanos = phaseNanos.clone();
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public int getGeneration() {
+		return generation;
+	}
+
+	public double getBestFitness() {
+		return bestFitness;
+	}
+
+	public double getMeanFitness() {
+		return meanFitness;
+	}
+
+	public double getWorstFitness() {
+		return worstFitness;
+	}
+
+	public double getDiversity() {
+		return diversity;
+	}
+
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+     * @param  phase the phase of the generation
+     * @return the time of the phase in nanoseconds
+     */
+	public long getPhaseNanos(Phase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Generation %d: best %.5f, mean %.5f, diversity %.5f, evaluations %d, %d ms",
+				generation, bestFitness, meanFitness, diversity, evaluations, elapsedNanos / 1_000_000);
+	}
+}
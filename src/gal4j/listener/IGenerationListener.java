@@ -0,0 +1,39 @@
+package gal4j.listener;
+
+import gal4j.algorithm.Config;
+
+/**
+ * Interface for observers of a run of the genetic algorithm.
+ *
+ * Listeners are called synchronously by the thread running the algorithm, so a slow listener slows the run down.
+ * Such listeners should be wrapped into {@link AsyncGenerationListener}.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public interface IGenerationListener {
+
+	/**
+	 * Called once before the first generation is evaluated.
+	 *
+	 * @param config the checked configuration of the run
+	 */
+	public default void onStart(Config config) {
+	}
+
+	/**
+	 * Called after every generation is evaluated.
+	 *
+	 * @param event statistics of the evaluated generation
+	 */
+	public void onGeneration(GenerationEvent event);
+
+	/**
+	 * Called once when the run ends.
+	 *
+	 * @param event  statistics of the last fully evaluated generation, null if the run was stopped before any
+	 * @param reason description of the reason why the run ended
+	 */
+	public default void onFinish(GenerationEvent event, String reason) {
+	}
+}
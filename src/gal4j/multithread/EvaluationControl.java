@@ -0,0 +1,128 @@
+package gal4j.multithread;
+
+/**
+ * Thread-safe control of a running evaluation, shared by the engine and the evaluators.
+ *
+ * The evaluation stops dispatching new chromosomes once a stop is requested from any thread,
+ * the deadline passes or an evaluated fitness falls into the target window.
+ * Evaluations already in progress are finished, fitness functions are not interrupted.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class EvaluationControl {
+
+	/** Whether a stop was requested */
+	private volatile boolean stopRequested;
+	/** Whether the run has a deadline */
+	private volatile boolean limited;
+	/** Deadline in the time of {@link System#nanoTime()} */
+	private volatile long deadline;
+	/** Whether evaluated fitness values are compared with the target window */
+	private volatile boolean targeted;
+	/** Lower bound of the target window */
+	private volatile double targetLow;
+	/** Upper bound of the target window */
+	private volatile double targetHigh;
+	/** Whether a fitness value in the target window was evaluated */
+	private volatile boolean targetReached;
+
+	/**
+     * Prepares the control for a new run without a deadline. A stop requested before the start is kept,
+     * so the run ends right away, a reached target of a previous run is cleared.
+     */
+	public void start() {
+		limited = false;
+		targetReached = false;
+	}
+
+	/**
+     * Prepares the control for a new run with a deadline. A stop requested before the start is kept,
+     * so the run ends right away, a reached target of a previous run is cleared.
+     *
+     * @param deadline the deadline in the time of {@link System#nanoTime()}
+     */
+	public void start(long deadline) {
+		this.deadline = deadline;
+		limited = true;
+		targetReached = false;
+	}
+
+	/**
+     * Ends a run, the stop request is cleared so that it does not end the next run.
+     * A stop requested after this call applies to the next run.
+     */
+	public void finish() {
+		stopRequested = false;
+		limited = false;
+	}
+
+	/**
+     * Sets the target window, the evaluation stops once a fitness value in [low, high] is reported.
+     *
+     * @param low  the lower bound of the window
+     * @param high the upper bound of the window
+     */
+	public void setTarget(double low, double high) {
+		if (!(low <= high)) {
+			throw new IllegalArgumentException("Invalid target window: [" + low + ", " + high + "]");
+		}
+		targetLow = low;
+		targetHigh = high;
+		targeted = true;
+	}
+
+	/**
+     * Removes the target window.
+     */
+	public void clearTarget() {
+		targeted = false;
+	}
+
+	/**
+     * Reports an evaluated fitness value, called by the evaluators as every result arrives.
+     *
+     * @param fitness the evaluated fitness value
+     */
+	public void report(double fitness) {
+		if (targeted && fitness >= targetLow && fitness <= targetHigh) {
+			targetReached = true;
+		}
+	}
+
+	/**
+     * @return whether a fitness value in the target window was reported
+     */
+	public boolean isTargetReached() {
+		return targetReached;
+	}
+
+	/**
+     * Requests a stop, can be called from any thread.
+     */
+	public void stop() {
+		stopRequested = true;
+	}
+
+	/**
+     * @return whether a stop was requested
+     */
+	public boolean isStopRequested() {
+		return stopRequested;
+	}
+
+	/**
+     * @return whether the deadline has passed
+     */
+	public boolean isDeadlinePassed() {
+		// the difference is compared so that an overflow of nanoTime does not matter
+		return limited && System.nanoTime() - deadline >= 0;
+	}
+
+	/**
+     * @return whether no more work should be dispatched
+     */
+	public boolean isStopped() {
+		return stopRequested || targetReached || isDeadlinePassed();
+	}
+}
@@ -4,9 +4,12 @@ import java.util.List;
 
 import gal4j.algorithm.AFitnessFunction;
 import gal4j.chromosome.AChromosome;
+import gal4j.operators.localsearch.ILocalSearch;
+import gal4j.utils.FitnessSummary;
 
 /**
- * Master class that distributes chromosomes among multiple threads (workers) for parallel fitness evaluation.
+ * Master class that distributes chromosomes among multiple threads (workers) for parallel fitness evaluation
+ * or parallel local search.
  * 
  * @author Filip Křenek
  * @version 1.0
@@ -19,12 +22,20 @@ public class Master implements Runnable {
 	private int nthreads;
 	/** Fitness function to apply */
 	private AFitnessFunction func;
+	/** Local search to apply instead of the fitness function */
+	private ILocalSearch localSearch;
 	/** Thread instances */
 	private Thread[] threads;
 	/** Worker instances */
 	private Worker[] workers;
 	/** Index of the next chromosome to assign */
 	private int cur = 0;
+	/** Summary of the fitness values computed by all workers in the last run */
+	private final FitnessSummary summary = new FitnessSummary();
+	/** Control which stops dispatching chromosomes, may be null */
+	private EvaluationControl control;
+	/** Number of chromosomes dispatched in the last run */
+	private int dispatched;
 	
 	
 	/**
@@ -42,16 +53,32 @@ public class Master implements Runnable {
 		workers = new Worker[nthreads];
 	}
 	
+	/**
+     * Constructs a new Master object to control multithreaded local search.
+     *
+     * @param chromosomes list of chromosomes to improve
+     * @param nthreads    number of threads to run
+     * @param localSearch local search to apply to each chromosome
+     */
+	public Master(List<AChromosome<?>> chromosomes, int nthreads, ILocalSearch localSearch) {
+		this.chromosomes = chromosomes;
+		this.nthreads = nthreads;
+		this.localSearch = localSearch;
+		threads = new Thread[nthreads];
+		workers = new Worker[nthreads];
+	}
+	
 	
 	
 	/**
      * Starts all worker threads and waits for them to finish.
+     * The fitness summaries of the workers are merged afterwards.
      */
 	@Override
 	public void run() {
 		// Create and start each worker thread
 		for(int i = 0; i < nthreads; i++) {
-			workers[i] = new Worker(this, func);
+			workers[i] = localSearch != null ? new Worker(this, localSearch) : new Worker(this, func);
 			threads[i] = new Thread(workers[i]);
 			threads[i].start();
 		}
@@ -64,18 +91,28 @@ public class Master implements Runnable {
 				e.printStackTrace();
 			}
 		}
+		dispatched = cur;
 		cur = 0;
+
+		summary.clear();
+		for(int i = 0; i < nthreads; i++) {
+			summary.merge(workers[i].getSummary());
+		}
 		
 	}
 	
 	/**
      * Provides the next chromosome to a worker in a thread-safe manner.
+     * No chromosome is assigned once the control is stopped.
      *
      * @param worker the worker requesting a chromosome
-     * @return true if a chromosome was assigned, false if all have been processed
+     * @return true if a chromosome was assigned, false if all have been processed or the control is stopped
      */
 	public synchronized boolean getChromosome(Worker worker) {
 		worker.setCurrent(null);
+		if (control != null && control.isStopped()) {
+			return false;
+		}
 	    while (cur != chromosomes.size()) {
 	        worker.setCurrent(chromosomes.get(cur));
 	        cur++;
@@ -83,11 +120,40 @@ public class Master implements Runnable {
 	    }
 	    return false;
 	}
-	
-	
-	
-	
 
-	
-	
+	/**
+     * Sets the control which stops dispatching chromosomes.
+     *
+     * @param control the evaluation control, null for none
+     */
+	public void setControl(EvaluationControl control) {
+		this.control = control;
+	}
+
+	/**
+     * Reports an evaluated fitness value to the control, so a value in the target window stops the dispatching.
+     *
+     * @param fitness the evaluated fitness value
+     */
+	public void report(double fitness) {
+		if (control != null) {
+			control.report(fitness);
+		}
+	}
+
+	/**
+     * Chromosomes are dispatched in the order of the list, so the processed ones are the first ones.
+     *
+     * @return the number of chromosomes processed in the last run
+     */
+	public int getDispatched() {
+		return dispatched;
+	}
+
+	/**
+     * @return the summary of the fitness values computed in the last run
+     */
+	public FitnessSummary getSummary() {
+		return summary;
+	}
 }
@@ -3,9 +3,11 @@ package gal4j.multithread;
 
 import gal4j.algorithm.AFitnessFunction;
 import gal4j.chromosome.AChromosome;
+import gal4j.operators.localsearch.ILocalSearch;
+import gal4j.utils.FitnessSummary;
 
 /**
- * Worker class that calculates fitness for chromosomes assigned by the Master.
+ * Worker class that calculates fitness for chromosomes assigned by the Master, or improves them by a local search.
  * Each worker runs in its own thread and processes chromosomes one by one.
  * 
  * @author Filip Křenek
@@ -17,8 +19,12 @@ public class Worker implements Runnable {
 	private Master master;
 	/** Fitness function to evaluate chromosomes */
 	private AFitnessFunction func;
+	/** Local search to improve chromosomes, used instead of the fitness function */
+	private ILocalSearch localSearch;
 	/** The currently assigned chromosome to evaluate */
 	private AChromosome<?> current;
+	/** Summary of the fitness values computed by this worker */
+	private final FitnessSummary summary = new FitnessSummary();
 	
 	
 	/**
@@ -32,6 +38,17 @@ public class Worker implements Runnable {
 		this.func = func;
 	}
 	
+	/**
+     * Constructs a new Worker object which improves chromosomes by a local search.
+     *
+     * @param master      reference to the master controller
+     * @param localSearch the local search used for improvement
+     */
+	public Worker(Master master, ILocalSearch localSearch) {
+		this.master = master;
+		this.localSearch = localSearch;
+	}
+	
 	
 	
 	/**
@@ -42,8 +59,14 @@ public class Worker implements Runnable {
 	public void run() {
 		
 		while(master.getChromosome(this) != false) {
+			if (localSearch != null) {
+				localSearch.improve(current);
+				continue;
+			}
 			double fittness = func.calculateFitness(current);
 			current.setFitness(fittness);
+			summary.add(fittness);
+			master.report(fittness);
 		}
 		
 	}
@@ -59,4 +82,11 @@ public class Worker implements Runnable {
 		
 	}
 
+	/**
+     * @return the summary of the fitness values computed by this worker
+     */
+	public FitnessSummary getSummary() {
+		return summary;
+	}
+
 }
@@ -0,0 +1,347 @@
+package gal4j.operators.adaptive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import gal4j.io.ICheckpointable;
+
+/**
+ * Pool of genetic operators chosen adaptively by their past performance (a multi-armed bandit).
+ *
+ * Every use of an operator is rewarded by the fitness improvement of the offspring over its parents
+ * and the time the operator took. Rewards are collected during a generation and {@link #update()}
+ * turns them into the quality of every operator, the improvement per nanosecond smoothed over generations.
+ * Cheap operators which still produce improvements are therefore preferred.
+ *
+ * Operators are chosen by one of two strategies:
+ * <ul>
+ * <li>{@link Strategy#PROBABILITY_MATCHING} chooses operators with probabilities proportional to their quality,
+ * every operator keeps a minimal probability so that it can recover.</li>
+ * <li>{@link Strategy#UCB} chooses the operator with the highest upper confidence bound of its quality,
+ * rarely used operators get an exploration bonus.</li>
+ * </ul>
+ *
+ * The pool is thread safe. The qualities and the collected rewards are saved in checkpoints,
+ * the states of the operators are saved separately.
+ *
+ * @param <T> type of the operators, e.g. ICrossover or IMutation
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class AdaptiveOperatorPool<T> implements ICheckpointable {
+
+	/**
+	 * Strategy for choosing operators from their qualities.
+	 */
+	public enum Strategy {
+		/** Probabilities proportional to the qualities with a minimal probability of every operator */
+		PROBABILITY_MATCHING,
+		/** Upper confidence bound of the normalized quality */
+		UCB
+	}
+
+	/** Operators of the pool */
+	private final List<T> operators;
+	/** Strategy for choosing the operators */
+	private final Strategy strategy;
+	/** Random number generator */
+	private final Random rand;
+
+	/** Weight of the last generation in the quality (0.0–1.0) */
+	private double adaptationRate = 0.3;
+	/** Minimal probability of every operator in probability matching */
+	private double minProbability;
+	/** Weight of the exploration bonus in UCB */
+	private double exploration = 0.5;
+
+	/** Smoothed improvement per nanosecond of every operator */
+	private final double[] quality;
+	/** Selection probabilities of probability matching */
+	private final double[] probabilities;
+	/** Number of rewarded uses of every operator in past generations */
+	private final long[] uses;
+	/** Total number of rewarded uses */
+	private long totalUses;
+
+	/** Improvements collected in the current generation */
+	private final double[] improvements;
+	/** Time in nanoseconds collected in the current generation */
+	private final long[] nanos;
+	/** Rewarded uses in the current generation */
+	private final int[] pending;
+	/** Choices in the current generation, rewarded or not yet */
+	private final int[] selected;
+
+	/**
+     * Constructs a pool choosing operators by probability matching.
+     *
+     * @param operators the operators of the pool
+     */
+	public AdaptiveOperatorPool(List<T> operators) {
+		this(operators, Strategy.PROBABILITY_MATCHING, new Random());
+	}
+
+	/**
+     * Constructs a pool with the given strategy.
+     *
+     * @param operators the operators of the pool
+     * @param strategy  the strategy for choosing the operators
+     */
+	public AdaptiveOperatorPool(List<T> operators, Strategy strategy) {
+		this(operators, strategy, new Random());
+	}
+
+	/**
+     * Constructs a pool with the given strategy and a custom random generator.
+     *
+     * @param operators the operators of the pool
+     * @param strategy  the strategy for choosing the operators
+     * @param rand      the Random instance to use
+     */
+	public AdaptiveOperatorPool(List<T> operators, Strategy strategy, Random rand) {
+		if (operators == null || operators.isEmpty()) {
+			throw new IllegalArgumentException("Operator pool must contain at least one operator.");
+		}
+		for (T operator : operators) {
+			if (operator == null) {
+				throw new IllegalArgumentException("Operator pool must not contain null operators.");
+			}
+		}
+		this.operators = Collections.unmodifiableList(new ArrayList<>(operators));
+		this.strategy = strategy;
+		this.rand = rand;
+
+		int size = operators.size();
+		this.minProbability = 0.2 / size;
+		this.quality = new double[size];
+		this.probabilities = new double[size];
+		this.uses = new long[size];
+		this.improvements = new double[size];
+		this.nanos = new long[size];
+		this.pending = new int[size];
+		this.selected = new int[size];
+		updateProbabilities();
+	}
+
+
+	/**
+     * Chooses an operator by the strategy of the pool.
+     *
+     * @return the index of the chosen operator
+     */
+	public synchronized int choose() {
+		int size = operators.size();
+		if (size == 1) {
+			return 0;
+		}
+
+		if (strategy == Strategy.PROBABILITY_MATCHING) {
+			double r = rand.nextDouble();
+			for (int i = 0; i < size - 1; i++) {
+				r -= probabilities[i];
+				if (r < 0) {
+					return i;
+				}
+			}
+			return size - 1;
+		}
+
+		// rewards arrive after the evaluation, so the choices of the current generation are counted
+		// as uses right away, otherwise every offspring of a generation would get the same operator
+		double maxQuality = 0;
+		for (int i = 0; i < size; i++) {
+			// every operator is tried before the bounds are compared
+			if (uses[i] + selected[i] == 0) {
+				selected[i]++;
+				return i;
+			}
+			maxQuality = Math.max(maxQuality, quality[i]);
+		}
+
+		long total = totalUses;
+		for (int i = 0; i < size; i++) {
+			total += selected[i];
+		}
+		double log = Math.log(total);
+
+		int best = 0;
+		double bestBound = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < size; i++) {
+			double normalized = maxQuality > 0 ? quality[i] / maxQuality : 0;
+			double bound = normalized + exploration * Math.sqrt(2 * log / (uses[i] + selected[i]));
+			if (bound > bestBound) {
+				bestBound = bound;
+				best = i;
+			}
+		}
+		selected[best]++;
+		return best;
+	}
+
+	/**
+     * Records one use of an operator in the current generation.
+     *
+     * @param index       the index of the operator
+     * @param improvement the fitness improvement of the offspring over its parents, negative values count as zero
+     * @param time        the time the operator took in nanoseconds
+     */
+	public synchronized void reward(int index, double improvement, long time) {
+		if (improvement > 0) {
+			improvements[index] += improvement;
+		}
+		nanos[index] += Math.max(time, 1);
+		pending[index]++;
+	}
+
+	/**
+     * Turns the rewards of the current generation into the qualities of the operators.
+     * Operators not used in the generation keep their quality. Choices which were not rewarded are forgotten.
+     */
+	public synchronized void update() {
+		for (int i = 0; i < operators.size(); i++) {
+			selected[i] = 0;
+			if (pending[i] == 0) {
+				continue;
+			}
+			double reward = improvements[i] / nanos[i];
+			quality[i] = uses[i] == 0 ? reward : quality[i] + adaptationRate * (reward - quality[i]);
+			uses[i] += pending[i];
+			totalUses += pending[i];
+
+			improvements[i] = 0;
+			nanos[i] = 0;
+			pending[i] = 0;
+		}
+		updateProbabilities();
+	}
+
+	@Override
+	public synchronized void writeState(DataOutput out) throws IOException {
+		out.writeInt(operators.size());
+		for (int i = 0; i < operators.size(); i++) {
+			out.writeDouble(quality[i]);
+			out.writeLong(uses[i]);
+			out.writeDouble(improvements[i]);
+			out.writeLong(nanos[i]);
+			out.writeInt(pending[i]);
+		}
+		out.writeLong(totalUses);
+	}
+
+	@Override
+	public synchronized void readState(DataInput in) throws IOException {
+		int size = in.readInt();
+		if (size != operators.size()) {
+			throw new IOException("Saved pool has " + size + " operators, this one " + operators.size());
+		}
+		for (int i = 0; i < size; i++) {
+			quality[i] = in.readDouble();
+			uses[i] = in.readLong();
+			improvements[i] = in.readDouble();
+			nanos[i] = in.readLong();
+			pending[i] = in.readInt();
+		}
+		totalUses = in.readLong();
+		Arrays.fill(selected, 0);
+		updateProbabilities();
+	}
+
+	/**
+	 * Recomputes the probabilities of probability matching from the qualities.
+	 */
+	private void updateProbabilities() {
+		int size = operators.size();
+		double sum = 0;
+		for (int i = 0; i < size; i++) {
+			sum += quality[i];
+		}
+		double free = 1.0 - size * minProbability;
+		for (int i = 0; i < size; i++) {
+			probabilities[i] = sum > 0 ? minProbability + free * quality[i] / sum : 1.0 / size;
+		}
+	}
+
+	/**
+     * @param  index the index of the operator
+     * @return the operator
+     */
+	public T getOperator(int index) {
+		return operators.get(index);
+	}
+
+	/**
+     * @return the unmodifiable list of the operators
+     */
+	public List<T> getOperators() {
+		return operators;
+	}
+
+	/**
+     * @return the number of operators
+     */
+	public int size() {
+		return operators.size();
+	}
+
+	/**
+     * @return the strategy for choosing the operators
+     */
+	public Strategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+     * @return a copy of the probabilities of probability matching
+     */
+	public synchronized double[] getProbabilities() {
+		return probabilities.clone();
+	}
+
+	/**
+     * @return a copy of the qualities, improvement per nanosecond of every operator
+     */
+	public synchronized double[] getQualities() {
+		return quality.clone();
+	}
+
+	public synchronized double getAdaptationRate() {
+		return adaptationRate;
+	}
+
+	public synchronized void setAdaptationRate(double adaptationRate) {
+		if (adaptationRate <= 0 || adaptationRate > 1) {
+			throw new IllegalArgumentException("Adaptation rate must be in range (0, 1]: " + adaptationRate);
+		}
+		this.adaptationRate = adaptationRate;
+	}
+
+	public synchronized double getMinProbability() {
+		return minProbability;
+	}
+
+	public synchronized void setMinProbability(double minProbability) {
+		if (minProbability < 0 || minProbability * operators.size() > 1) {
+			throw new IllegalArgumentException("Minimal probability must be in range [0, 1/" + operators.size() + "]: " + minProbability);
+		}
+		this.minProbability = minProbability;
+		updateProbabilities();
+	}
+
+	public synchronized double getExploration() {
+		return exploration;
+	}
+
+	public synchronized void setExploration(double exploration) {
+		if (exploration < 0) {
+			throw new IllegalArgumentException("Exploration must not be negative: " + exploration);
+		}
+		this.exploration = exploration;
+	}
+}
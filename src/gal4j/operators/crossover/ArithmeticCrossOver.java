@@ -0,0 +1,79 @@
+package gal4j.operators.crossover;
+
+import java.util.Random;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.IDoubleGenes;
+import gal4j.utils.DoubleKernels;
+
+/**
+ * An implementation of the arithmetic crossover for chromosomes with double genes.
+ *
+ * The offspring is a weighted average of the parents, every gene is lambda * gene1 + (1 - lambda) * gene2.
+ * The weight is either fixed or drawn uniformly from [0, 1) for every offspring.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class ArithmeticCrossOver implements ICrossover {
+
+	/** Fixed weight of the first parent, negative if the weight is random */
+	private final double lambda;
+	/** Random number generator */
+	private final Random rand;
+
+	/**
+     * Constructs an ArithmeticCrossOver with a random weight for every offspring.
+     */
+	public ArithmeticCrossOver() {
+		this(new Random());
+	}
+
+	/**
+     * Constructs an ArithmeticCrossOver with a random weight for every offspring and the specified random number generator for testing purposes
+     *
+     * @param rand the random number generator
+     */
+	public ArithmeticCrossOver(Random rand) {
+		this.lambda = -1;
+		this.rand = rand;
+	}
+
+	/**
+     * Constructs an ArithmeticCrossOver with a fixed weight.
+     *
+     * @param lambda the weight of the first parent in range [0, 1]
+     */
+	public ArithmeticCrossOver(double lambda) {
+		if (lambda < 0 || lambda > 1) {
+			throw new IllegalArgumentException("Lambda must be in range [0, 1]: " + lambda);
+		}
+		this.lambda = lambda;
+		this.rand = null;
+	}
+
+
+	/**
+     * Performs the arithmetic crossover between two parent chromosomes.
+     *
+     * @param  parent1 the first parent chromosome
+     * @param  parent2 the second parent chromosome
+     * @return a new offspring chromosome
+     * @throws IllegalArgumentException if the chromosomes do not have primitive double genes
+     */
+	@Override
+	public AChromosome<?> crossover(AChromosome<?> parent1, AChromosome<?> parent2) {
+		AChromosome<?> crossed = parent1.clone();
+
+		if (!(crossed instanceof IDoubleGenes) || !(parent2 instanceof IDoubleGenes)) {
+			throw new IllegalArgumentException("Arithmetic crossover requires chromosomes with double genes: "
+					+ parent1.getClass() + " & " + parent2.getClass());
+		}
+
+		double weight = lambda < 0 ? rand.nextDouble() : lambda;
+		double[] values = ((IDoubleGenes) crossed).getValues();
+		DoubleKernels.arithmetic(values, ((IDoubleGenes) parent2).getValues(), values, parent1.getGenLength(), weight);
+
+		return crossed;
+	}
+}
@@ -0,0 +1,90 @@
+package gal4j.operators.crossover;
+
+import java.util.Random;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.IDoubleGenes;
+import gal4j.utils.DoubleKernels;
+
+/**
+ * An implementation of the blend crossover (BLX-alpha) for chromosomes with double genes.
+ *
+ * Every gene of the offspring is drawn uniformly from the interval between the parent genes,
+ * extended by alpha times its width on both sides. Genes are clamped to the range of the chromosome.
+ * With alpha = 0.5 the offspring can explore around the parents as well as between them.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class BlendCrossOver implements ICrossover {
+
+	/** Reusable random numbers of one thread */
+	private static final class Buffers {
+		double[] random = new double[0];
+	}
+
+	private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+	/** Extension of the interval between the parent genes */
+	private final double alpha;
+	/** Random number generator */
+	private final Random rand;
+
+	/**
+     * Constructs a BlendCrossOver with a default random number generator.
+     *
+     * @param alpha the extension of the interval between the parent genes, usually 0.5
+     */
+	public BlendCrossOver(double alpha) {
+		this(alpha, new Random());
+	}
+
+	/**
+     * Constructs a BlendCrossOver with the specified random number generator for testing purposes
+     *
+     * @param alpha the extension of the interval between the parent genes, usually 0.5
+     * @param rand  the random number generator
+     */
+	public BlendCrossOver(double alpha, Random rand) {
+		if (alpha < 0) {
+			throw new IllegalArgumentException("Alpha must not be negative: " + alpha);
+		}
+		this.alpha = alpha;
+		this.rand = rand;
+	}
+
+
+	/**
+     * Performs the blend crossover between two parent chromosomes.
+     *
+     * @param  parent1 the first parent chromosome
+     * @param  parent2 the second parent chromosome
+     * @return a new offspring chromosome
+     * @throws IllegalArgumentException if the chromosomes do not have primitive double genes
+     */
+	@Override
+	public AChromosome<?> crossover(AChromosome<?> parent1, AChromosome<?> parent2) {
+		AChromosome<?> crossed = parent1.clone();
+
+		if (!(crossed instanceof IDoubleGenes) || !(parent2 instanceof IDoubleGenes)) {
+			throw new IllegalArgumentException("Blend crossover requires chromosomes with double genes: "
+					+ parent1.getClass() + " & " + parent2.getClass());
+		}
+
+		int length = parent1.getGenLength();
+		Buffers buffers = BUFFERS.get();
+		if (buffers.random.length < length) {
+			buffers.random = new double[length];
+		}
+		double[] random = buffers.random;
+		for (int i = 0; i < length; i++) {
+			random[i] = rand.nextDouble();
+		}
+
+		IDoubleGenes genes = (IDoubleGenes) crossed;
+		double[] values = genes.getValues();
+		DoubleKernels.blend(values, ((IDoubleGenes) parent2).getValues(), random, values, length, alpha, genes.getMin(), genes.getMax());
+
+		return crossed;
+	}
+}
@@ -33,6 +33,8 @@ public class CyclicCrossOver implements ICrossover {
     
     /**
      * Performs cyclic crossover between two parent chromosomes.
+     * Both parents must be permutations of the same genes. Runs in O(n), the next position of a cycle
+     * is looked up in a precomputed position index instead of searching the parent.
      *
      * @param  parent1 the first parent chromosome
      * @param  parent2 the second parent chromosome
@@ -42,38 +44,37 @@ public class CyclicCrossOver implements ICrossover {
     public AChromosome<?> crossover(AChromosome<?> parent1, AChromosome<?> parent2) {
         int length = parent1.getGenLength();
 
-        // Initialize offspring genes with null values
-        Object[] offspringGenes = new Object[length];
-        boolean[] visited = new boolean[length];  // Track visited indices
+        // Offspring starts as a copy of parent1, cycles taken from parent2 are overwritten
+        AChromosome<?> offspring = parent1.clone();
+
+        // ids[i] is the position in parent1 of the gene parent2 has at position i
+        PermutationSupport.Scratch scratch = PermutationSupport.encode(parent1, parent2);
+        int[] ids = scratch.ids;
+        long[] visited = scratch.bits;  // Track visited indices
 
         int cycleCount = 0;
 
         // Identify cycles and assign genes alternately
         for (int startIndex = 0; startIndex < length; startIndex++) {
-            if (!visited[startIndex]) {
+            if (!PermutationSupport.getBit(visited, startIndex)) {
                 int index = startIndex;
                 boolean takeFromParent1 = (cycleCount % 2 == 0);  // Alternate cycles
                 
                 do {
                     // Assign gene from appropriate parent
-                    offspringGenes[index] = takeFromParent1 ? parent1.getGen(index) : parent2.getGen(index);
-                    visited[index] = true;
+                    if (!takeFromParent1) {
+                        offspring.setGen(index, parent2.getGen(index));
+                    }
+                    PermutationSupport.setBit(visited, index);
 
-                    // Find where this gene appears in Parent 1
-                    Object geneFromP2 = parent2.getGen(index);
-                    index = indexOfGene(parent1, geneFromP2);
+                    // Find where the gene of parent2 appears in parent1
+                    index = ids[index];
 
-                } while (index != startIndex && !visited[index]);
+                } while (index != startIndex && !PermutationSupport.getBit(visited, index));
 
                 cycleCount++;  // Move to the next cycle
             }
         }
-
-        // Create the offspring chromosome
-        AChromosome<?> offspring = parent1.clone();
-        for (int i = 0; i < length; i++) {
-            offspring.setGen(i, offspringGenes[i]);
-        }
         
         return offspring;
     }
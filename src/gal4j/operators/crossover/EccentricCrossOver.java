@@ -1,12 +1,15 @@
 package gal4j.operators.crossover;
 
 import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.IDoubleGenes;
+import gal4j.utils.DoubleKernels;
 
 /**
  * An implementation of an eccentric crossover operator.
  * 
  * This crossover compares the distance of each gene to the average of the two parent genes. 
  * The gene farther from the average is selected. If the distances are equal, the larger gene is chosen.
+ * Chromosomes with primitive double genes are processed by {@link DoubleKernels} without boxing.
  * 
  * @author Filip Křenek
  * @version 1.0
@@ -25,6 +28,12 @@ public class EccentricCrossOver implements ICrossover {
        
         AChromosome<?> crossed = parent1.clone();
 
+        if (crossed instanceof IDoubleGenes && parent2 instanceof IDoubleGenes && parent2.getGenLength() == parent1.getGenLength()) {
+            double[] values = ((IDoubleGenes) crossed).getValues();
+            DoubleKernels.eccentric(values, ((IDoubleGenes) parent2).getValues(), values, parent1.getGenLength());
+            return crossed;
+        }
+
         // Pro každý gen provádíme křížení podle typu genů
         for (int i = 0; i < parent1.getGenLength(); i++) {
             Object gene1 = parent1.getGen(i);
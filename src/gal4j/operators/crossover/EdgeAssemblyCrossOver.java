@@ -0,0 +1,419 @@
+package gal4j.operators.crossover;
+
+import java.util.Random;
+
+import gal4j.algorithm.IEdgeCost;
+import gal4j.chromosome.AChromosome;
+import gal4j.utils.NeighborLists;
+
+/**
+ * An implementation of an Edge Assembly Crossover (EAX) operator for tour problems, in the single AB-cycle variant.
+ *
+ * Edges which are only in one of the parents form alternating AB-cycles. One randomly chosen AB-cycle is applied
+ * to the first parent: its edges from the first parent are removed and its edges from the second parent are added.
+ * This usually splits the tour into several subtours, which are then merged greedily by the cheapest 2-exchange
+ * found among the nearest neighbors of the smaller subtour. The offspring keeps almost all edges of the first parent
+ * and imports a small, connected set of edges from the second one.
+ *
+ * Genes must be the integers 0..n-1, the cost of edges between them is given by {@link IEdgeCost}.
+ * All work is done on primitive adjacency arrays.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class EdgeAssemblyCrossOver implements ICrossover {
+
+	/** Reusable arrays of one thread */
+	private static final class Buffers {
+		/** Two neighbors of every node in the intermediate solution */
+		int[] links = new int[0];
+		/** Remaining edges only in parent A, two slots per node */
+		int[] edgesA = new int[0];
+		/** Remaining edges only in parent B, two slots per node */
+		int[] edgesB = new int[0];
+		/** Two neighbors of every node in parent B */
+		int[] linksB = new int[0];
+		/** Path of the AB-cycle search */
+		int[] path = new int[0];
+		/** Position in the path where a node waits for an A edge, -1 if none */
+		int[] open = new int[0];
+		/** Nodes of all found AB-cycles one after another */
+		int[] cycles = new int[0];
+		/** Start of every AB-cycle in the cycles array */
+		int[] cycleStart = new int[0];
+		/** Subtour label of every node */
+		int[] label = new int[0];
+		/** Size of every subtour */
+		int[] subtourSize = new int[0];
+
+		private void ensure(int length) {
+			if (label.length < length) {
+				links = new int[2 * length];
+				edgesA = new int[2 * length];
+				edgesB = new int[2 * length];
+				linksB = new int[2 * length];
+				path = new int[2 * length + 2];
+				open = new int[length];
+				cycles = new int[2 * length];
+				cycleStart = new int[length + 1];
+				label = new int[length];
+				subtourSize = new int[length];
+			}
+		}
+	}
+
+	private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+	/** Cost of edges between nodes */
+	private final IEdgeCost cost;
+	/** Number of nearest neighbors searched when merging subtours */
+	private final int candidates;
+	/** Random number generator for choosing edges and AB-cycles */
+	private final Random rand;
+	/** Nearest neighbor lists, computed on first use */
+	private volatile NeighborLists neighbors;
+
+	/**
+     * Constructs a new EdgeAssemblyCrossOver which searches 10 nearest neighbors when merging subtours.
+     *
+     * @param cost the cost of edges between nodes
+     */
+	public EdgeAssemblyCrossOver(IEdgeCost cost) {
+		this(cost, 10, new Random());
+	}
+
+	/**
+     * Constructs a new EdgeAssemblyCrossOver.
+     *
+     * @param cost       the cost of edges between nodes
+     * @param candidates the number of nearest neighbors searched when merging subtours
+     */
+	public EdgeAssemblyCrossOver(IEdgeCost cost, int candidates) {
+		this(cost, candidates, new Random());
+	}
+
+	/**
+     * Constructs a new EdgeAssemblyCrossOver with the specified random number generator for testing purposes.
+     *
+     * @param cost       the cost of edges between nodes
+     * @param candidates the number of nearest neighbors searched when merging subtours
+     * @param rand       the random number generator
+     */
+	public EdgeAssemblyCrossOver(IEdgeCost cost, int candidates, Random rand) {
+		this.cost = cost;
+		this.candidates = candidates;
+		this.rand = rand;
+	}
+
+
+	/**
+     * Performs the edge assembly crossover between two parent chromosomes.
+     *
+     * @param  parent1 the first parent chromosome (parent A)
+     * @param  parent2 the second parent chromosome (parent B)
+     * @return a new offspring chromosome, a copy of parent1 if the parents share all edges
+     */
+	@Override
+	public AChromosome<?> crossover(AChromosome<?> parent1, AChromosome<?> parent2) {
+		AChromosome<?> crossed = parent1.clone();
+
+		int length = parent1.getGenLength();
+		if (length < 5) {
+			return crossed;
+		}
+
+		Buffers buffers = BUFFERS.get();
+		buffers.ensure(length);
+		int[] links = buffers.links;
+
+		readTour(parent1, links);
+		readTour(parent2, buffers.linksB);
+
+		int cycleCount = findCycles(buffers, length);
+		if (cycleCount == 0) {
+			return crossed;
+		}
+
+		// Apply one AB-cycle to parent A
+		int chosen = rand.nextInt(cycleCount);
+		int from = buffers.cycleStart[chosen];
+		int to = buffers.cycleStart[chosen + 1];
+		int[] cycles = buffers.cycles;
+
+		for (int i = from; i < to; i += 2) {
+			// A edges are (v0, v1), (v2, v3), ...
+			replaceLink(links, cycles[i], cycles[i + 1], -1);
+			replaceLink(links, cycles[i + 1], cycles[i], -1);
+		}
+		for (int i = from + 1; i < to; i += 2) {
+			// B edges are (v1, v2), ..., (v2k-1, v0)
+			int u = cycles[i];
+			int v = cycles[i + 1 < to ? i + 1 : from];
+			replaceLink(links, u, -1, v);
+			replaceLink(links, v, -1, u);
+		}
+
+		mergeSubtours(buffers, length);
+
+		// Walk the resulting tour starting with the first gene of parent1
+		int start = (Integer) parent1.getGen(0);
+		int previous = -1;
+		int current = start;
+		for (int i = 0; i < length; i++) {
+			crossed.setGen(i, current);
+			int next = links[2 * current] != previous ? links[2 * current] : links[2 * current + 1];
+			previous = current;
+			current = next;
+		}
+
+		return crossed;
+	}
+
+	/**
+	 * Reads the neighbors of every node of a closed tour.
+	 */
+	private static void readTour(AChromosome<?> parent, int[] links) {
+		int length = parent.getGenLength();
+		for (int i = 0; i < length; i++) {
+			Object gene = parent.getGen(i);
+			if (!(gene instanceof Integer) || (Integer) gene < 0 || (Integer) gene >= length) {
+				throw new IllegalArgumentException("Edge assembly crossover requires integer genes 0.." + (length - 1) + ": " + gene);
+			}
+			int node = (Integer) gene;
+			links[2 * node] = (Integer) parent.getGen(i == 0 ? length - 1 : i - 1);
+			links[2 * node + 1] = (Integer) parent.getGen(i == length - 1 ? 0 : i + 1);
+		}
+	}
+
+	/**
+	 * Decomposes the edges which are only in one parent into AB-cycles.
+	 *
+	 * @return the number of found AB-cycles
+	 */
+	private int findCycles(Buffers buffers, int length) {
+		int[] links = buffers.links;
+		int[] linksB = buffers.linksB;
+		int[] edgesA = buffers.edgesA;
+		int[] edgesB = buffers.edgesB;
+		int[] path = buffers.path;
+		int[] open = buffers.open;
+		int[] cycles = buffers.cycles;
+		int[] cycleStart = buffers.cycleStart;
+
+		for (int node = 0; node < length; node++) {
+			for (int k = 0; k < 2; k++) {
+				int a = links[2 * node + k];
+				edgesA[2 * node + k] = (a == linksB[2 * node] || a == linksB[2 * node + 1]) ? -1 : a;
+				int b = linksB[2 * node + k];
+				edgesB[2 * node + k] = (b == links[2 * node] || b == links[2 * node + 1]) ? -1 : b;
+			}
+			open[node] = -1;
+		}
+
+		int cycleCount = 0;
+		int stored = 0;
+		cycleStart[0] = 0;
+
+		for (int start = 0; start < length; start++) {
+			while (edgesA[2 * start] != -1 || edgesA[2 * start + 1] != -1) {
+				int top = 0;
+				path[0] = start;
+				open[start] = 0;
+				boolean takeA = true;
+
+				while (true) {
+					int current = path[top];
+					int next = takeEdge(takeA ? edgesA : edgesB, current);
+					path[++top] = next;
+
+					if (takeA) {
+						takeA = false;
+						continue;
+					}
+					takeA = true;
+
+					if (open[next] == -1) {
+						open[next] = top;
+						continue;
+					}
+
+					// The path returned to a node waiting for an A edge, cut out the closed AB-cycle
+					int begin = open[next];
+					for (int p = begin; p < top; p++) {
+						cycles[stored++] = path[p];
+						if (p > begin && (p & 1) == 0) {
+							open[path[p]] = -1;
+						}
+					}
+					cycleStart[++cycleCount] = stored;
+					top = begin;
+
+					if (top == 0 && edgesA[2 * start] == -1 && edgesA[2 * start + 1] == -1) {
+						break;
+					}
+				}
+				open[start] = -1;
+			}
+		}
+		return cycleCount;
+	}
+
+	/**
+	 * Removes a random remaining edge of the node and returns its other end.
+	 */
+	private int takeEdge(int[] edges, int node) {
+		int slot;
+		if (edges[2 * node] == -1) {
+			slot = 2 * node + 1;
+		} else if (edges[2 * node + 1] == -1) {
+			slot = 2 * node;
+		} else {
+			slot = 2 * node + rand.nextInt(2);
+		}
+		int other = edges[slot];
+		edges[slot] = -1;
+		replaceLink(edges, other, node, -1);
+		return other;
+	}
+
+	/**
+	 * Replaces the first occurrence of a neighbor of the node.
+	 */
+	private static void replaceLink(int[] links, int node, int oldNeighbor, int newNeighbor) {
+		if (links[2 * node] == oldNeighbor) {
+			links[2 * node] = newNeighbor;
+		} else {
+			links[2 * node + 1] = newNeighbor;
+		}
+	}
+
+	/**
+	 * Merges subtours of the intermediate solution until a single tour remains.
+	 * The smallest subtour is always connected to another one by the cheapest 2-exchange.
+	 */
+	private void mergeSubtours(Buffers buffers, int length) {
+		int[] links = buffers.links;
+		int[] label = buffers.label;
+		int[] subtourSize = buffers.subtourSize;
+
+		int subtours = 0;
+		for (int node = 0; node < length; node++) {
+			label[node] = -1;
+		}
+		for (int node = 0; node < length; node++) {
+			if (label[node] == -1) {
+				subtourSize[subtours] = relabel(links, label, node, subtours);
+				subtours++;
+			}
+		}
+
+		NeighborLists lists = neighborLists(length);
+		int remaining = subtours;
+
+		while (remaining > 1) {
+			// Smallest subtour
+			int smallest = -1;
+			for (int s = 0; s < subtours; s++) {
+				if (subtourSize[s] > 0 && (smallest == -1 || subtourSize[s] < subtourSize[smallest])) {
+					smallest = s;
+				}
+			}
+
+			int bestA = -1, bestB = -1, bestC = -1, bestD = -1;
+			boolean bestCross = false;
+			double bestDelta = Double.MAX_VALUE;
+
+			// Try candidates from the nearest neighbors first, fall back to all nodes
+			for (int pass = 0; pass < 2 && bestA == -1; pass++) {
+				int startNode = -1;
+				for (int node = 0; node < length && startNode == -1; node++) {
+					if (label[node] == smallest) {
+						startNode = node;
+					}
+				}
+
+				int previous = -1;
+				int a = startNode;
+				for (int step = 0; step < subtourSize[smallest]; step++) {
+					int b = links[2 * a] != previous ? links[2 * a] : links[2 * a + 1];
+					double removed = cost.cost(a, b);
+
+					int candidateCount = pass == 0 ? lists.getCount() : length;
+					for (int j = 0; j < candidateCount; j++) {
+						int c = pass == 0 ? lists.get(a, j) : j;
+						if (label[c] == smallest) {
+							continue;
+						}
+						for (int k = 0; k < 2; k++) {
+							int d = links[2 * c + k];
+							double base = removed + cost.cost(c, d);
+							double straight = cost.cost(a, c) + cost.cost(b, d) - base;
+							double cross = cost.cost(a, d) + cost.cost(b, c) - base;
+							if (straight < bestDelta) {
+								bestDelta = straight;
+								bestA = a; bestB = b; bestC = c; bestD = d;
+								bestCross = false;
+							}
+							if (cross < bestDelta) {
+								bestDelta = cross;
+								bestA = a; bestB = b; bestC = c; bestD = d;
+								bestCross = true;
+							}
+						}
+					}
+
+					previous = a;
+					a = b;
+				}
+			}
+
+			// Remove (a, b) and (c, d), connect the two subtours
+			replaceLink(links, bestA, bestB, bestCross ? bestD : bestC);
+			replaceLink(links, bestB, bestA, bestCross ? bestC : bestD);
+			replaceLink(links, bestC, bestD, bestCross ? bestB : bestA);
+			replaceLink(links, bestD, bestC, bestCross ? bestA : bestB);
+
+			int target = label[bestC];
+			subtourSize[target] += subtourSize[smallest];
+			subtourSize[smallest] = 0;
+			relabel(links, label, bestA, target);
+			remaining--;
+		}
+	}
+
+	/**
+	 * Assigns the label to all nodes of the subtour containing the start node.
+	 *
+	 * @return the size of the subtour
+	 */
+	private static int relabel(int[] links, int[] label, int start, int value) {
+		int size = 0;
+		int previous = -1;
+		int current = start;
+		do {
+			label[current] = value;
+			size++;
+			int next = links[2 * current] != previous ? links[2 * current] : links[2 * current + 1];
+			previous = current;
+			current = next;
+		} while (current != start);
+		return size;
+	}
+
+	/**
+	 * Returns the nearest neighbor lists for the given number of nodes, computing them on first use.
+	 */
+	private NeighborLists neighborLists(int length) {
+		NeighborLists lists = neighbors;
+		if (lists == null || lists.getSize() != length) {
+			synchronized (this) {
+				lists = neighbors;
+				if (lists == null || lists.getSize() != length) {
+					lists = new NeighborLists(cost, length, candidates);
+					neighbors = lists;
+				}
+			}
+		}
+		return lists;
+	}
+}
@@ -0,0 +1,176 @@
+package gal4j.operators.crossover;
+
+import java.util.Random;
+
+import gal4j.chromosome.AChromosome;
+
+/**
+ * An implementation of the Edge Recombination Crossover (ERX) operator for tour problems.
+ *
+ * The offspring is built from edges of both parents. From the current gene the next one is chosen among its neighbors
+ * in either parent, preferring the neighbor with the fewest remaining neighbors. A random unused gene is taken only when
+ * the current gene has no unused neighbor left. Most edges of the offspring are therefore inherited, which keeps good
+ * parts of the tours together.
+ *
+ * The adjacency is stored in compact int arrays with at most four neighbors per gene, so the operator runs in O(n).
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class EdgeRecombinationCrossOver implements ICrossover {
+
+	/** Reusable arrays of one thread */
+	private static final class Buffers {
+		/** Up to four neighbors of every gene */
+		int[] adjacency = new int[0];
+		/** Number of remaining neighbors of every gene */
+		int[] degree = new int[0];
+		/** Genes not yet placed in the offspring */
+		int[] pool = new int[0];
+		/** Position of every gene in the pool */
+		int[] poolPosition = new int[0];
+
+		private void ensure(int length) {
+			if (degree.length < length) {
+				adjacency = new int[4 * length];
+				degree = new int[length];
+				pool = new int[length];
+				poolPosition = new int[length];
+			}
+		}
+	}
+
+	private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+	/** Random number generator for breaking ties */
+	private final Random rand;
+
+	/**
+     * Constructs a new EdgeRecombinationCrossOver with a default random number generator.
+     */
+	public EdgeRecombinationCrossOver() {
+		this.rand = new Random();
+	}
+
+	/**
+     * Constructs a new EdgeRecombinationCrossOver with the specified random number generator for testing purposes
+     *
+     * @param rand the random number generator
+     */
+	public EdgeRecombinationCrossOver(Random rand) {
+		this.rand = rand;
+	}
+
+
+	/**
+     * Performs the edge recombination crossover between two parent chromosomes.
+     * Both parents must be permutations of the same genes, the tours are treated as closed cycles.
+     *
+     * @param  parent1 the first parent chromosome
+     * @param  parent2 the second parent chromosome
+     * @return a new offspring chromosome created using edge recombination
+     */
+	@Override
+	public AChromosome<?> crossover(AChromosome<?> parent1, AChromosome<?> parent2) {
+		AChromosome<?> crossed = parent1.clone();
+
+		int length = parent1.getGenLength();
+		if (length < 3) {
+			return crossed;
+		}
+
+		// Genes are identified by their position in parent1
+		int[] ids = PermutationSupport.encode(parent1, parent2).ids;
+
+		Buffers buffers = BUFFERS.get();
+		buffers.ensure(length);
+		int[] adjacency = buffers.adjacency;
+		int[] degree = buffers.degree;
+		int[] pool = buffers.pool;
+		int[] poolPosition = buffers.poolPosition;
+
+		// Edges of parent1, which is the identity in id space
+		for (int id = 0; id < length; id++) {
+			degree[id] = 0;
+			addNeighbor(adjacency, degree, id, id == 0 ? length - 1 : id - 1);
+			addNeighbor(adjacency, degree, id, id == length - 1 ? 0 : id + 1);
+			pool[id] = id;
+			poolPosition[id] = id;
+		}
+
+		// Edges of parent2, duplicates with parent1 are stored only once
+		for (int i = 0; i < length; i++) {
+			int id = ids[i];
+			addNeighbor(adjacency, degree, id, ids[i == 0 ? length - 1 : i - 1]);
+			addNeighbor(adjacency, degree, id, ids[i == length - 1 ? 0 : i + 1]);
+		}
+
+		int poolSize = length;
+		int current = 0;
+
+		for (int position = 0; position < length; position++) {
+			// Place the current gene and remove it from the pool
+			if (position > 0) {
+				crossed.setGen(position, parent1.getGen(current));
+			}
+			int last = pool[--poolSize];
+			pool[poolPosition[current]] = last;
+			poolPosition[last] = poolPosition[current];
+
+			// Remove the current gene from the lists of its neighbors
+			for (int k = 0; k < degree[current]; k++) {
+				removeNeighbor(adjacency, degree, adjacency[4 * current + k], current);
+			}
+
+			if (poolSize == 0) {
+				break;
+			}
+
+			// Choose the neighbor with the fewest remaining neighbors, ties are broken randomly
+			int next = -1;
+			int best = Integer.MAX_VALUE;
+			int ties = 0;
+			for (int k = 0; k < degree[current]; k++) {
+				int candidate = adjacency[4 * current + k];
+				if (degree[candidate] < best) {
+					best = degree[candidate];
+					next = candidate;
+					ties = 1;
+				} else if (degree[candidate] == best && rand.nextInt(++ties) == 0) {
+					next = candidate;
+				}
+			}
+
+			if (next == -1) {
+				next = pool[rand.nextInt(poolSize)];
+			}
+			current = next;
+		}
+
+		return crossed;
+	}
+
+	/**
+	 * Adds a neighbor to the list of the gene if it is not present yet.
+	 */
+	private static void addNeighbor(int[] adjacency, int[] degree, int id, int neighbor) {
+		for (int k = 0; k < degree[id]; k++) {
+			if (adjacency[4 * id + k] == neighbor) {
+				return;
+			}
+		}
+		adjacency[4 * id + degree[id]++] = neighbor;
+	}
+
+	/**
+	 * Removes a neighbor from the list of the gene.
+	 */
+	private static void removeNeighbor(int[] adjacency, int[] degree, int id, int neighbor) {
+		for (int k = 0; k < degree[id]; k++) {
+			if (adjacency[4 * id + k] == neighbor) {
+				adjacency[4 * id + k] = adjacency[4 * id + --degree[id]];
+				return;
+			}
+		}
+	}
+}
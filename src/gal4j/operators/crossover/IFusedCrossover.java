@@ -0,0 +1,35 @@
+package gal4j.operators.crossover;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.operators.mutation.IMutation;
+
+/**
+ * Interface for crossover operators which can mutate the offspring in the same pass in which they create it.
+ *
+ * The engine uses it automatically when the configured crossover and mutation operators support each other,
+ * otherwise the offspring is mutated by the mutation operator right after the crossover.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public interface IFusedCrossover extends ICrossover {
+	/**
+     * Checks whether the crossover of the given parents can be fused with the mutation.
+     *
+     * @param  parent1  the first parent chromosome
+     * @param  parent2  the second parent chromosome
+     * @param  mutation the mutation operator
+     * @return true if {@link #crossoverAndMutate} can be used
+     */
+	public boolean canFuse(AChromosome<?> parent1, AChromosome<?> parent2, IMutation mutation);
+
+	/**
+     * Creates an offspring and mutates it in the same pass over its genes.
+     *
+     * @param  parent1  the first parent chromosome
+     * @param  parent2  the second parent chromosome
+     * @param  mutation the mutation operator, accepted by {@link #canFuse}
+     * @return a new mutated offspring chromosome
+     */
+	public AChromosome<?> crossoverAndMutate(AChromosome<?> parent1, AChromosome<?> parent2, IMutation mutation);
+}
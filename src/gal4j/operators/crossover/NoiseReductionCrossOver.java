@@ -1,11 +1,14 @@
 package gal4j.operators.crossover;
 
 import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.IDoubleGenes;
+import gal4j.utils.DoubleKernels;
 
 /**
  * An implementation of a noise reduction crossover operator.
  * 
  * This crossover averages the genes from both parents to reduce random noise.
+ * Chromosomes with primitive double genes are averaged by {@link DoubleKernels} without boxing.
  * 
  * @author Filip Křenek
  * @version 1.0
@@ -23,6 +26,12 @@ public class NoiseReductionCrossOver implements ICrossover {
     public AChromosome<?> crossover(AChromosome<?> parent1, AChromosome<?> parent2) {
         AChromosome<?> crossed = parent1.clone();
 
+        if (crossed instanceof IDoubleGenes && parent2 instanceof IDoubleGenes && parent2.getGenLength() == parent1.getGenLength()) {
+            double[] values = ((IDoubleGenes) crossed).getValues();
+            DoubleKernels.average(values, ((IDoubleGenes) parent2).getValues(), values, parent1.getGenLength());
+            return crossed;
+        }
+
         for (int i = 0; i < parent1.getGenLength(); i++) {
             Object gene1 = parent1.getGen(i);
             Object gene2 = parent2.getGen(i);
@@ -1,7 +1,5 @@
 package gal4j.operators.crossover;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
 import gal4j.chromosome.AChromosome;
@@ -38,6 +36,7 @@ public class OrderCrossOver implements ICrossover {
 
 	/**
      * Performs the order crossover between two parent chromosomes.
+     * Both parents must be permutations of the same genes. Runs in O(n) using a bitset of used genes.
      *
      * @param  parent1 the first parent chromosome
      * @param  parent2 the second parent chromosome
@@ -47,9 +46,6 @@ public class OrderCrossOver implements ICrossover {
 	public AChromosome<?> crossover(AChromosome<?> parent1, AChromosome<?> parent2) {
 		AChromosome<?> crossed = parent1.clone();
 		
-		
-		
-		
 		// Ensure that both parents have the same length (chromosome size)
         int length = parent1.getGenLength();
         
@@ -63,38 +59,35 @@ public class OrderCrossOver implements ICrossover {
             point1 = point2;
             point2 = temp;
         }
-      
-        
         
-        // Extract the section of genes from parent1 and parent2
-        List<Object> offspringGenes = new ArrayList<>(length);
-        for (int i = 0; i < length; i++) {
-            offspringGenes.add(null);  // Initialize the offspring with null genes
-        }
+        // Genes are identified by their position in parent1
+        PermutationSupport.Scratch scratch = PermutationSupport.encode(parent1, parent2);
+        int[] ids = scratch.ids;
+        long[] used = scratch.bits;
 
-        // Copy the genes from the first parent to the offspring in the range [point1, point2]
+        // The section [point1, point2] is already copied from parent1 by the clone
         for (int i = point1; i <= point2; i++) {
-            offspringGenes.set(i, parent1.getGen(i));
+            PermutationSupport.setBit(used, i);
         }
 
         // Now, fill the remaining positions in offspring with genes from parent2, while maintaining order
         int parent2Index = 0;
         for (int i = 0; i < length; i++) {
-            if (offspringGenes.get(i) == null) {
-                // Find the next gene from parent2 that isn't already in the offspring
-                while (offspringGenes.contains(parent2.getGen(parent2Index))) {
-                    parent2Index++;
-                }
-                
-                offspringGenes.set(i, parent2.getGen(parent2Index));
+            if (i == point1) {
+                i = point2;
+                continue;
+            }
+            
+            // Find the next gene from parent2 that isn't already in the offspring
+            while (PermutationSupport.getBit(used, ids[parent2Index])) {
                 parent2Index++;
-               
             }
+            
+            int id = ids[parent2Index++];
+            PermutationSupport.setBit(used, id);
+            crossed.setGen(i, parent1.getGen(id));
         }
         
-        for(int i = 0; i < length; i++) {
-        	crossed.setGen(i, offspringGenes.get(i));
-        }
         return crossed;
     }
 
@@ -0,0 +1,81 @@
+package gal4j.operators.crossover;
+
+import java.util.Random;
+
+import gal4j.chromosome.AChromosome;
+
+/**
+ * An implementation of the Partially Mapped Crossover (PMX) operator.
+ *
+ * A section of the first parent is copied into the offspring. The remaining positions are taken from the second parent,
+ * genes which already appear in the copied section are replaced by following the mapping between the parents in that section.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class PartiallyMappedCrossOver implements ICrossover {
+
+	/** Random number generator for chosing gene indexes */
+	private final Random rand;
+
+	/**
+     * Constructs a new PartiallyMappedCrossOver with a default random number generator.
+     */
+	public PartiallyMappedCrossOver() {
+		this.rand = new Random();
+	}
+
+	/**
+     * Constructs a new PartiallyMappedCrossOver with the specified random number generator for testing purposes
+     *
+     * @param rand the random number generator
+     */
+	public PartiallyMappedCrossOver(Random rand) {
+		this.rand = rand;
+	}
+
+
+	/**
+     * Performs the partially mapped crossover between two parent chromosomes.
+     * Both parents must be permutations of the same genes. Runs in O(n).
+     *
+     * @param  parent1 the first parent chromosome
+     * @param  parent2 the second parent chromosome
+     * @return a new offspring chromosome created using partially mapped crossover
+     */
+	@Override
+	public AChromosome<?> crossover(AChromosome<?> parent1, AChromosome<?> parent2) {
+		AChromosome<?> crossed = parent1.clone();
+
+		int length = parent1.getGenLength();
+
+		// Randomly choose two crossover points
+		int point1 = rand.nextInt(length);
+		int point2 = rand.nextInt(length);
+
+		if (point1 > point2) {
+			int temp = point1;
+			point1 = point2;
+			point2 = temp;
+		}
+
+		// Genes are identified by their position in parent1, so the section [point1, point2] holds ids point1..point2
+		int[] ids = PermutationSupport.encode(parent1, parent2).ids;
+
+		for (int i = 0; i < length; i++) {
+			if (i == point1) {
+				i = point2;
+				continue;
+			}
+
+			// While the gene of parent2 is already in the section, follow the mapping parent1 -> parent2
+			int id = ids[i];
+			while (id >= point1 && id <= point2) {
+				id = ids[id];
+			}
+			crossed.setGen(i, parent1.getGen(id));
+		}
+
+		return crossed;
+	}
+}
@@ -0,0 +1,123 @@
+package gal4j.operators.crossover;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import gal4j.chromosome.AChromosome;
+
+/**
+ * Helper for permutation crossovers working on primitive arrays.
+ *
+ * Every gene is identified by its position in the first parent, so the first parent is the identity
+ * permutation and the second parent is encoded as an array of these positions. A gene with id k is
+ * then simply parent1.getGen(k). Integer permutations of 0..n-1 are encoded without any hashing,
+ * other gene types fall back to a hash map.
+ *
+ * Scratch arrays are kept per thread, so the operators do not allocate anything except the offspring.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+final class PermutationSupport {
+
+	/** Reusable arrays of one thread */
+	static final class Scratch {
+		/** Second parent encoded as positions in the first parent */
+		int[] ids = new int[0];
+		/** Position of every gene value in the first parent */
+		int[] positions = new int[0];
+		/** Genes of the offspring as ids */
+		int[] child = new int[0];
+		/** Bitset of used ids or visited positions */
+		long[] bits = new long[0];
+
+		private void ensure(int length) {
+			if (ids.length < length) {
+				ids = new int[length];
+				positions = new int[length];
+				child = new int[length];
+				bits = new long[(length + 63) >>> 6];
+			}
+		}
+	}
+
+	private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+	private PermutationSupport() {
+	}
+
+	/**
+	 * Encodes the second parent as positions of its genes in the first parent and clears the bitset.
+	 *
+	 * @param  parent1 the first parent chromosome
+	 * @param  parent2 the second parent chromosome
+	 * @return scratch of the current thread with filled ids
+	 * @throws IllegalStateException if a gene of the second parent is not present in the first one
+	 */
+	static Scratch encode(AChromosome<?> parent1, AChromosome<?> parent2) {
+		int length = parent1.getGenLength();
+		Scratch scratch = SCRATCH.get();
+		scratch.ensure(length);
+
+		if (isIntegerPermutation(parent1, scratch.positions)) {
+			int[] positions = scratch.positions;
+			for (int i = 0; i < length; i++) {
+				Object gene = parent2.getGen(i);
+				int value = gene instanceof Integer ? (Integer) gene : -1;
+				if (value < 0 || value >= length) {
+					throw new IllegalStateException("Gene not found in parent chromosome!");
+				}
+				scratch.ids[i] = positions[value];
+			}
+		} else {
+			Map<Object, Integer> positions = new HashMap<>(length * 2);
+			for (int i = 0; i < length; i++) {
+				positions.put(parent1.getGen(i), i);
+			}
+			for (int i = 0; i < length; i++) {
+				Integer position = positions.get(parent2.getGen(i));
+				if (position == null) {
+					throw new IllegalStateException("Gene not found in parent chromosome!");
+				}
+				scratch.ids[i] = position;
+			}
+		}
+
+		clearBits(scratch.bits, length);
+		return scratch;
+	}
+
+	/**
+	 * Checks whether the genes are Integers in range [0, length) and fills their positions.
+	 */
+	private static boolean isIntegerPermutation(AChromosome<?> parent, int[] positions) {
+		int length = parent.getGenLength();
+		for (int i = 0; i < length; i++) {
+			Object gene = parent.getGen(i);
+			if (!(gene instanceof Integer)) {
+				return false;
+			}
+			int value = (Integer) gene;
+			if (value < 0 || value >= length) {
+				return false;
+			}
+			positions[value] = i;
+		}
+		return true;
+	}
+
+	static void clearBits(long[] bits, int length) {
+		int words = (length + 63) >>> 6;
+		for (int w = 0; w < words; w++) {
+			bits[w] = 0L;
+		}
+	}
+
+	static boolean getBit(long[] bits, int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	static void setBit(long[] bits, int index) {
+		bits[index >>> 6] |= 1L << index;
+	}
+}
@@ -3,22 +3,32 @@ package gal4j.operators.crossover;
 import java.util.Random;
 
 import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.IBitPacked;
+import gal4j.operators.mutation.IMutation;
+import gal4j.operators.mutation.IPackedMutation;
+import gal4j.utils.BitWords;
+import gal4j.utils.Sampling;
 
 /**
  * An implementation of a probabilistic crossover operator.
  *
  * For each gene, a random decision is made to determine whether it will be inherited from the first or second parent, based on the specified probability.
  *
+ * Bit-packed chromosomes are crossed 64 genes at once with random masks. If one parent is chosen only rarely,
+ * its genes are sampled by geometric skips instead. A packed mutation can be applied block by block in the same pass.
+ *
  * @author Filip Křenek
  * @version 1.0
  */
 
-public class ProbabilityCrossOver implements ICrossover {
+public class ProbabilityCrossOver implements IFusedCrossover {
 	
 	/** probability whether the gene will be from parent one */
     private final double probability; 
     /** Random number generator */
     private final Random rand;
+    /** Probability encoded for random masks */
+    private final long encodedProbability;
 
     /**
      * Constructs a new ProbabilityCrossOver with a given probability and a default random generator.
@@ -26,8 +36,7 @@ public class ProbabilityCrossOver implements ICrossover {
      * @param probability the probability of taking a gene from the first parent
      */
     public ProbabilityCrossOver(double probability) {
-        this.probability = probability;
-        this.rand = new Random();
+        this(probability, new Random());
     }
     
     /**
@@ -39,6 +48,7 @@ public class ProbabilityCrossOver implements ICrossover {
     public ProbabilityCrossOver(double probability, Random rand) {
         this.probability = probability;
         this.rand = rand;
+        this.encodedProbability = BitWords.encodeProbability(probability);
     }
 
     
@@ -54,7 +64,11 @@ public class ProbabilityCrossOver implements ICrossover {
     public AChromosome<?> crossover(AChromosome<?> parent1, AChromosome<?> parent2) {
     	AChromosome<?> crossed = parent1.clone();;
 		
-		
+		if (crossed instanceof IBitPacked && parent2 instanceof IBitPacked && parent2.getGenLength() == parent1.getGenLength()) {
+			long[] words = ((IBitPacked) crossed).getWords();
+			crossPacked(words, ((IBitPacked) parent2).getWords(), 0, words.length, parent1.getGenLength());
+			return crossed;
+		}
         
         for (int i = 0; i < parent1.getGenLength(); i++) {
             if (rand.nextDouble() < probability) {
@@ -66,4 +80,77 @@ public class ProbabilityCrossOver implements ICrossover {
 
         return crossed;
     }
+
+    /**
+     * Checks whether both parents are bit-packed and the mutation works on packed words.
+     *
+     * @param  parent1  the first parent chromosome
+     * @param  parent2  the second parent chromosome
+     * @param  mutation the mutation operator
+     * @return true if the crossover can be fused with the mutation
+     */
+    @Override
+    public boolean canFuse(AChromosome<?> parent1, AChromosome<?> parent2, IMutation mutation) {
+    	return parent1 instanceof IBitPacked && parent2 instanceof IBitPacked
+    			&& parent1.getGenLength() == parent2.getGenLength() && mutation instanceof IPackedMutation;
+    }
+
+    /**
+     * Performs the probabilistic crossover of packed parents and mutates every block of words right after it is crossed.
+     *
+     * @param  parent1  the first parent chromosome
+     * @param  parent2  the second parent chromosome
+     * @param  mutation the packed mutation operator
+     * @return a new mutated offspring chromosome
+     */
+    @Override
+    public AChromosome<?> crossoverAndMutate(AChromosome<?> parent1, AChromosome<?> parent2, IMutation mutation) {
+    	AChromosome<?> crossed = parent1.clone();
+    	int length = parent1.getGenLength();
+    	long[] words = ((IBitPacked) crossed).getWords();
+    	long[] other = ((IBitPacked) parent2).getWords();
+
+    	for (int w = 0; w < words.length; w += BitWords.BLOCK_WORDS) {
+    		int end = Math.min(words.length, w + BitWords.BLOCK_WORDS);
+    		crossPacked(words, other, w, end, length);
+    		((IPackedMutation) mutation).mutateWords(words, w, end, length, null);
+    	}
+    	return crossed;
+    }
+
+    /**
+     * Crosses packed genes in the words [fromWord, toWord), the words of the offspring are a copy of the first parent.
+     *
+     * @param crossed  words of the offspring
+     * @param other    words of the second parent
+     * @param fromWord the first crossed word
+     * @param toWord   the word after the last crossed one
+     * @param length   number of genes
+     */
+    private void crossPacked(long[] crossed, long[] other, int fromWord, int toWord, int length) {
+    	int from = fromWord << 6;
+    	int to = (int) Math.min((long) toWord << 6, length);
+
+    	if (1.0 - probability < BitWords.SPARSE_PROBABILITY) {
+    		// Only a few genes come from the second parent
+    		double otherProbability = 1.0 - probability;
+    		for (int i = Sampling.nextIndex(rand, otherProbability, from - 1); i < to; i = Sampling.nextIndex(rand, otherProbability, i)) {
+    			crossed[i >>> 6] ^= (crossed[i >>> 6] ^ other[i >>> 6]) & (1L << i);
+    		}
+    	} else if (probability < BitWords.SPARSE_PROBABILITY) {
+    		// Only a few genes come from the first parent
+    		int previous = from;
+    		for (int i = Sampling.nextIndex(rand, probability, from - 1); i < to; i = Sampling.nextIndex(rand, probability, i)) {
+    			BitWords.copyRange(other, crossed, previous, i);
+    			previous = i + 1;
+    		}
+    		BitWords.copyRange(other, crossed, previous, to);
+    	} else {
+    		// Bits of the mask select genes of the first parent
+    		for (int w = fromWord; w < toWord; w++) {
+    			long mask = BitWords.randomWord(rand, encodedProbability);
+    			crossed[w] ^= (crossed[w] ^ other[w]) & ~mask;
+    		}
+    	}
+    }
 }
@@ -3,14 +3,19 @@ package gal4j.operators.crossover;
 import java.util.Random;
 
 import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.IBitPacked;
+import gal4j.operators.mutation.IMutation;
+import gal4j.operators.mutation.IPackedMutation;
+import gal4j.utils.BitWords;
 
 /**
  * Implements the classic singlepoint crossover operator.
  *
  * A single crossover point is chosen randomly, and genes from the first parent
  * are taken up to that point. The remaining genes are taken from the second parent.
+ * Bit-packed chromosomes are crossed by copying whole words and masking the word with the crossover point.
  */
-public class SinglePointCrossOver implements ICrossover {
+public class SinglePointCrossOver implements IFusedCrossover {
 	
 	private final Random rand;
 	
@@ -47,6 +52,10 @@ public class SinglePointCrossOver implements ICrossover {
 		
 	    int crossoverPoint = rand.nextInt(genLength);
 	    
+	    if (crossed instanceof IBitPacked && parent2 instanceof IBitPacked && parent2.getGenLength() == genLength) {
+	    	BitWords.copyRange(((IBitPacked) parent2).getWords(), ((IBitPacked) crossed).getWords(), crossoverPoint, genLength);
+	    	return crossed;
+	    }
 	    
 	    for (int i = 0; i < genLength; i++) {
             if (i < crossoverPoint) {
@@ -59,4 +68,45 @@ public class SinglePointCrossOver implements ICrossover {
 		return crossed;
 	}
 	
+	/**
+     * Checks whether both parents are bit-packed and the mutation works on packed words.
+     *
+     * @param  parent1  the first parent chromosome
+     * @param  parent2  the second parent chromosome
+     * @param  mutation the mutation operator
+     * @return true if the crossover can be fused with the mutation
+     */
+	@Override
+	public boolean canFuse(AChromosome<?> parent1, AChromosome<?> parent2, IMutation mutation) {
+		return parent1 instanceof IBitPacked && parent2 instanceof IBitPacked
+				&& parent1.getGenLength() == parent2.getGenLength() && mutation instanceof IPackedMutation;
+	}
+
+	/**
+     * Performs the crossover of packed parents and mutates every block of words right after it is crossed.
+     *
+     * @param  parent1  the first parent chromosome
+     * @param  parent2  the second parent chromosome
+     * @param  mutation the packed mutation operator
+     * @return a new mutated offspring chromosome
+     */
+	@Override
+	public AChromosome<?> crossoverAndMutate(AChromosome<?> parent1, AChromosome<?> parent2, IMutation mutation) {
+		AChromosome<?> crossed = parent1.clone();
+		
+		int genLength = parent1.getGenLength();
+		int crossoverPoint = rand.nextInt(genLength);
+		
+		long[] words = ((IBitPacked) crossed).getWords();
+		long[] other = ((IBitPacked) parent2).getWords();
+		
+		for (int w = 0; w < words.length; w += BitWords.BLOCK_WORDS) {
+			int end = Math.min(words.length, w + BitWords.BLOCK_WORDS);
+			BitWords.copyRange(other, words, Math.max(crossoverPoint, w << 6), Math.min(genLength, end << 6));
+			((IPackedMutation) mutation).mutateWords(words, w, end, genLength, null);
+		}
+		
+		return crossed;
+	}
+
 }
@@ -3,16 +3,21 @@ package gal4j.operators.crossover;
 import java.util.Random;
 
 import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.IBitPacked;
+import gal4j.operators.mutation.IMutation;
+import gal4j.operators.mutation.IPackedMutation;
+import gal4j.utils.BitWords;
 
 /**
  * Implements the twopoint crossover operator.
  *
  * Two distinct crossover points are randomly selected. The genes between these two points are taken from the second parent, and the rest are taken from the first parent.
+ * Bit-packed chromosomes are crossed by copying whole words and masking the words with the crossover points.
  * 
  * @author Filip Křenek
  * @version 1.0
  */
-public class TwoPointCrossOver implements ICrossover {
+public class TwoPointCrossOver implements IFusedCrossover {
 	
 	/** Random number generator for chosing gene indexes */
 	private final Random rand;
@@ -63,7 +68,10 @@ public class TwoPointCrossOver implements ICrossover {
             crossPoint2 = temp;
         }
 		
-		
+		if (crossed instanceof IBitPacked && parent2 instanceof IBitPacked && parent2.getGenLength() == geneLength) {
+			BitWords.copyRange(((IBitPacked) parent2).getWords(), ((IBitPacked) crossed).getWords(), crossPoint1, crossPoint2);
+			return crossed;
+		}
 		
 		 for (int i = 0; i < geneLength; i++) {
 	            if (i >= crossPoint1 && i < crossPoint2) {
@@ -77,4 +85,56 @@ public class TwoPointCrossOver implements ICrossover {
 		
 	}
 
+	/**
+     * Checks whether both parents are bit-packed and the mutation works on packed words.
+     *
+     * @param  parent1  the first parent chromosome
+     * @param  parent2  the second parent chromosome
+     * @param  mutation the mutation operator
+     * @return true if the crossover can be fused with the mutation
+     */
+	@Override
+	public boolean canFuse(AChromosome<?> parent1, AChromosome<?> parent2, IMutation mutation) {
+		return parent1 instanceof IBitPacked && parent2 instanceof IBitPacked
+				&& parent1.getGenLength() == parent2.getGenLength() && mutation instanceof IPackedMutation;
+	}
+
+	/**
+     * Performs the crossover of packed parents and mutates every block of words right after it is crossed.
+     *
+     * @param  parent1  the first parent chromosome
+     * @param  parent2  the second parent chromosome
+     * @param  mutation the packed mutation operator
+     * @return a new mutated offspring chromosome
+     */
+	@Override
+	public AChromosome<?> crossoverAndMutate(AChromosome<?> parent1, AChromosome<?> parent2, IMutation mutation) {
+		AChromosome<?> crossed = parent1.clone();
+		
+		int genLength = parent1.getGenLength();
+		int crossPoint1 = rand.nextInt(genLength);
+		int crossPoint2 = rand.nextInt(genLength);
+		
+		while(crossPoint1 == crossPoint2) {
+			crossPoint2 = rand.nextInt(genLength);
+		}
+		
+		if (crossPoint1 > crossPoint2) {
+			int temp = crossPoint1;
+			crossPoint1 = crossPoint2;
+			crossPoint2 = temp;
+		}
+		
+		long[] words = ((IBitPacked) crossed).getWords();
+		long[] other = ((IBitPacked) parent2).getWords();
+		
+		for (int w = 0; w < words.length; w += BitWords.BLOCK_WORDS) {
+			int end = Math.min(words.length, w + BitWords.BLOCK_WORDS);
+			BitWords.copyRange(other, words, Math.max(crossPoint1, w << 6), Math.min(crossPoint2, end << 6));
+			((IPackedMutation) mutation).mutateWords(words, w, end, genLength, null);
+		}
+		
+		return crossed;
+	}
+
 }
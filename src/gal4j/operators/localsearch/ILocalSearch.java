@@ -0,0 +1,22 @@
+package gal4j.operators.localsearch;
+
+import gal4j.chromosome.AChromosome;
+
+/**
+ * Interface for local search operators of memetic algorithms.
+ *
+ * A local search improves an offspring in place by cheap local moves before the offspring is evaluated.
+ * Implementations must be thread safe, the engine improves several offspring in parallel.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public interface ILocalSearch {
+	/**
+     * Improves the chromosome in place.
+     *
+     * @param  chromosome the chromosome to improve
+     * @return true if the chromosome was changed
+     */
+	public boolean improve(AChromosome<?> chromosome);
+}
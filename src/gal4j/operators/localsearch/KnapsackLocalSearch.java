@@ -0,0 +1,200 @@
+package gal4j.operators.localsearch;
+
+import java.util.Arrays;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.IBitPacked;
+
+/**
+ * Local search for knapsack problems on binary chromosomes.
+ *
+ * Gene i set to 1 means that item i is in the knapsack. An overweight chromosome is first repaired
+ * by removing items with the lowest value/weight ratio until the capacity is met. The feasible chromosome
+ * is then improved by first-improvement hill climbing: single bit flips adding items which still fit,
+ * and pairs of flips exchanging an item for a more valuable one. Both moves increase the value by construction,
+ * so only the total weight is kept, it is updated with every flip and the capacity of a move is checked in O(1).
+ *
+ * Bit-packed chromosomes are searched directly in their words.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class KnapsackLocalSearch implements ILocalSearch {
+
+	/** Words of one thread for chromosomes which are not bit-packed */
+	private static final ThreadLocal<long[][]> WORDS = ThreadLocal.withInitial(() -> new long[1][0]);
+
+	/** Values of the items */
+	private final double[] values;
+	/** Weights of the items */
+	private final double[] weights;
+	/** Capacity of the knapsack */
+	private final double capacity;
+	/** Whether exchanges of two items are searched when no single item can be added */
+	private final boolean exchanges;
+	/** Items sorted by value/weight ratio, the best first */
+	private final int[] byRatio;
+
+	/**
+     * Constructs a KnapsackLocalSearch using additions and exchanges of items.
+     *
+     * @param values   the values of the items
+     * @param weights  the weights of the items
+     * @param capacity the capacity of the knapsack
+     */
+	public KnapsackLocalSearch(double[] values, double[] weights, double capacity) {
+		this(values, weights, capacity, true);
+	}
+
+	/**
+     * Constructs a KnapsackLocalSearch.
+     *
+     * @param values    the values of the items
+     * @param weights   the weights of the items
+     * @param capacity  the capacity of the knapsack
+     * @param exchanges whether exchanges of two items are used in addition to single additions
+     */
+	public KnapsackLocalSearch(double[] values, double[] weights, double capacity, boolean exchanges) {
+		if (values.length != weights.length) {
+			throw new IllegalArgumentException("Values and weights must have the same length: " + values.length + " != " + weights.length);
+		}
+		this.values = values.clone();
+		this.weights = weights.clone();
+		this.capacity = capacity;
+		this.exchanges = exchanges;
+
+		Integer[] order = new Integer[values.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Double.compare(ratio(b), ratio(a)));
+		byRatio = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			byRatio[i] = order[i];
+		}
+	}
+
+
+	/**
+     * Repairs the chromosome to fit the capacity and improves it until no addition or exchange increases its value.
+     *
+     * @param  chromosome the binary chromosome to improve, its length must be the number of items
+     * @return true if the chromosome was changed
+     */
+	@Override
+	public boolean improve(AChromosome<?> chromosome) {
+		int length = chromosome.getGenLength();
+		if (length != values.length) {
+			throw new IllegalArgumentException("Chromosome length " + length + " does not match the number of items " + values.length);
+		}
+
+		boolean packed = chromosome instanceof IBitPacked;
+		long[] words = packed ? ((IBitPacked) chromosome).getWords() : unpack(chromosome);
+
+		// weight is kept up to date with every flip
+		double weight = 0;
+		for (int w = 0; w < words.length; w++) {
+			for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+				int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+				weight += weights[i];
+			}
+		}
+
+		boolean changed = false;
+
+		// repair, the worst items are removed first
+		for (int k = byRatio.length - 1; k >= 0 && weight > capacity; k--) {
+			int i = byRatio[k];
+			if (isSet(words, i)) {
+				flip(words, i);
+				weight -= weights[i];
+				changed = true;
+			}
+		}
+
+		boolean improved = true;
+		while (improved) {
+			improved = false;
+
+			// single flips, only additions can increase the value of a feasible knapsack
+			for (int k = 0; k < byRatio.length; k++) {
+				int i = byRatio[k];
+				if (!isSet(words, i) && values[i] > 0 && weight + weights[i] <= capacity) {
+					flip(words, i);
+					weight += weights[i];
+					improved = true;
+				}
+			}
+
+			// exchanges, the first one increasing the value is applied
+			if (exchanges && !improved) {
+				search:
+				for (int k = 0; k < byRatio.length; k++) {
+					int in = byRatio[k];
+					if (isSet(words, in)) {
+						continue;
+					}
+					for (int l = byRatio.length - 1; l >= 0; l--) {
+						int out = byRatio[l];
+						if (isSet(words, out) && values[in] > values[out]
+								&& weight - weights[out] + weights[in] <= capacity) {
+							flip(words, out);
+							flip(words, in);
+							weight += weights[in] - weights[out];
+							improved = true;
+							break search;
+						}
+					}
+				}
+			}
+			changed |= improved;
+		}
+
+		if (changed && !packed) {
+			for (int i = 0; i < length; i++) {
+				int gen = isSet(words, i) ? 1 : 0;
+				if (((Number) chromosome.getGen(i)).intValue() != gen) {
+					chromosome.setGen(i, gen);
+				}
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Copies the 0/1 genes of the chromosome into the words of the current thread.
+	 */
+	private static long[] unpack(AChromosome<?> chromosome) {
+		int length = chromosome.getGenLength();
+		long[][] holder = WORDS.get();
+		int size = (length + 63) >>> 6;
+		if (holder[0].length != size) {
+			holder[0] = new long[size];
+		}
+		long[] words = holder[0];
+		Arrays.fill(words, 0L);
+
+		for (int i = 0; i < length; i++) {
+			Object gene = chromosome.getGen(i);
+			if (!(gene instanceof Number)) {
+				throw new IllegalArgumentException("Knapsack local search requires binary genes: " + gene);
+			}
+			if (((Number) gene).intValue() != 0) {
+				words[i >>> 6] |= 1L << i;
+			}
+		}
+		return words;
+	}
+
+	private static boolean isSet(long[] words, int i) {
+		return (words[i >>> 6] & (1L << i)) != 0;
+	}
+
+	private static void flip(long[] words, int i) {
+		words[i >>> 6] ^= 1L << i;
+	}
+
+	private double ratio(int i) {
+		return weights[i] > 0 ? values[i] / weights[i] : Double.POSITIVE_INFINITY;
+	}
+}
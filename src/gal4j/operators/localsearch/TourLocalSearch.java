@@ -0,0 +1,372 @@
+package gal4j.operators.localsearch;
+
+import gal4j.algorithm.IEdgeCost;
+import gal4j.chromosome.AChromosome;
+import gal4j.utils.NeighborLists;
+
+/**
+ * Local search for tour problems using 2-opt and Or-opt moves.
+ *
+ * A 2-opt move replaces two edges of the tour by two other edges and reverses the path between them.
+ * An Or-opt move takes a segment of up to three nodes and inserts it, possibly reversed, between two other nodes.
+ * Moves are searched only among the nearest neighbors of a node and every move is evaluated in O(1)
+ * from the costs of the changed edges. Nodes whose surroundings did not change are not searched again
+ * (don't look bits), so the search stops in a local optimum.
+ *
+ * Genes must be the integers 0..n-1, the cost of edges between them is given by {@link IEdgeCost}.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class TourLocalSearch implements ILocalSearch {
+
+	/** Minimal improvement accepted as a move, protects against rounding errors */
+	private static final double EPSILON = 1e-10;
+	/** Maximal length of a segment moved by Or-opt */
+	private static final int MAX_SEGMENT = 3;
+
+	/** Tour of one thread with its reusable arrays */
+	private static final class Tour {
+		/** Nodes in the order of the tour */
+		int[] nodes = new int[0];
+		/** Position of every node in the tour */
+		int[] position = new int[0];
+		/** Nodes waiting to be searched */
+		int[] queue = new int[0];
+		/** Whether the node is in the queue */
+		boolean[] queued = new boolean[0];
+		/** Number of nodes */
+		int n;
+		/** First node of the queue */
+		int head;
+		/** Number of nodes in the queue */
+		int size;
+
+		private void ensure(int length) {
+			if (nodes.length < length) {
+				nodes = new int[length];
+				position = new int[length];
+				queue = new int[length];
+				queued = new boolean[length];
+			}
+			n = length;
+		}
+
+		int next(int node) {
+			int p = position[node] + 1;
+			return nodes[p == n ? 0 : p];
+		}
+
+		int prev(int node) {
+			int p = position[node];
+			return nodes[p == 0 ? n - 1 : p - 1];
+		}
+
+		/** Number of steps forward from node a to node b */
+		int distance(int a, int b) {
+			int d = position[b] - position[a];
+			return d < 0 ? d + n : d;
+		}
+
+		void push(int node) {
+			if (!queued[node]) {
+				queued[node] = true;
+				int tail = head + size;
+				queue[tail >= n ? tail - n : tail] = node;
+				size++;
+			}
+		}
+
+		int poll() {
+			int node = queue[head];
+			head = head + 1 == n ? 0 : head + 1;
+			size--;
+			queued[node] = false;
+			return node;
+		}
+
+		/**
+		 * Reverses the path between positions from and to (inclusive, forward). The shorter side of the tour
+		 * is reversed, which gives the same cycle.
+		 */
+		void reversePath(int from, int to) {
+			int count = to - from;
+			if (count < 0) {
+				count += n;
+			}
+			count++;
+			if (2 * count > n) {
+				from = to + 1 == n ? 0 : to + 1;
+				count = n - count;
+			}
+			reverse(from, count);
+		}
+
+		/**
+		 * Reverses count nodes starting at the position going forward.
+		 */
+		void reverse(int from, int count) {
+			int i = from;
+			int j = from + count - 1;
+			if (j >= n) {
+				j -= n;
+			}
+			for (int k = 0; k < count / 2; k++) {
+				int a = nodes[i];
+				int b = nodes[j];
+				nodes[i] = b;
+				position[b] = i;
+				nodes[j] = a;
+				position[a] = j;
+				i = i + 1 == n ? 0 : i + 1;
+				j = j == 0 ? n - 1 : j - 1;
+			}
+		}
+	}
+
+	private static final ThreadLocal<Tour> TOURS = ThreadLocal.withInitial(Tour::new);
+
+	/** Cost of edges between nodes */
+	private final IEdgeCost cost;
+	/** Number of nearest neighbors searched for every node */
+	private final int candidates;
+	/** Whether Or-opt moves are searched when no 2-opt move improves the tour */
+	private final boolean orOpt;
+	/** Nearest neighbor lists, computed on first use */
+	private volatile NeighborLists neighbors;
+
+	/**
+     * Constructs a TourLocalSearch using 2-opt and Or-opt moves among 10 nearest neighbors.
+     *
+     * @param cost the cost of edges between nodes
+     */
+	public TourLocalSearch(IEdgeCost cost) {
+		this(cost, 10, true);
+	}
+
+	/**
+     * Constructs a TourLocalSearch using 2-opt and Or-opt moves.
+     *
+     * @param cost       the cost of edges between nodes
+     * @param candidates the number of nearest neighbors searched for every node
+     */
+	public TourLocalSearch(IEdgeCost cost, int candidates) {
+		this(cost, candidates, true);
+	}
+
+	/**
+     * Constructs a TourLocalSearch.
+     *
+     * @param cost       the cost of edges between nodes
+     * @param candidates the number of nearest neighbors searched for every node
+     * @param orOpt      whether Or-opt moves are used in addition to 2-opt moves
+     */
+	public TourLocalSearch(IEdgeCost cost, int candidates, boolean orOpt) {
+		this.cost = cost;
+		this.candidates = candidates;
+		this.orOpt = orOpt;
+	}
+
+
+	/**
+     * Improves the tour by 2-opt and Or-opt moves until no improving move is found.
+     *
+     * @param  chromosome the tour to improve, genes are the nodes 0..n-1
+     * @return true if the tour was changed
+     */
+	@Override
+	public boolean improve(AChromosome<?> chromosome) {
+		int n = chromosome.getGenLength();
+		if (n < 5) {
+			return false;
+		}
+
+		NeighborLists lists = neighborLists(n);
+		Tour tour = TOURS.get();
+		tour.ensure(n);
+
+		for (int i = 0; i < n; i++) {
+			Object gene = chromosome.getGen(i);
+			if (!(gene instanceof Integer) || (Integer) gene < 0 || (Integer) gene >= n) {
+				throw new IllegalArgumentException("Tour local search requires integer genes 0.." + (n - 1) + ": " + gene);
+			}
+			tour.nodes[i] = (Integer) gene;
+			tour.position[(Integer) gene] = i;
+			tour.queued[i] = false;
+		}
+		tour.head = 0;
+		tour.size = 0;
+		for (int i = 0; i < n; i++) {
+			tour.push(tour.nodes[i]);
+		}
+
+		boolean improved = false;
+		boolean segments = orOpt && n >= 8;
+		while (tour.size > 0) {
+			int node = tour.poll();
+			if (twoOpt(tour, lists, node) || (segments && orOpt(tour, lists, node))) {
+				improved = true;
+				tour.push(node);
+			}
+		}
+
+		if (improved) {
+			for (int i = 0; i < n; i++) {
+				if ((Integer) chromosome.getGen(i) != tour.nodes[i]) {
+					chromosome.setGen(i, tour.nodes[i]);
+				}
+			}
+		}
+		return improved;
+	}
+
+	/**
+	 * Searches an improving 2-opt move which replaces an edge at the node by an edge to one of its neighbors.
+	 *
+	 * @return true if a move was applied
+	 */
+	private boolean twoOpt(Tour tour, NeighborLists lists, int a) {
+		for (int direction = 0; direction < 2; direction++) {
+			int b = direction == 0 ? tour.next(a) : tour.prev(a);
+			double removedAB = cost.cost(a, b);
+
+			for (int j = 0; j < lists.getCount(); j++) {
+				int c = lists.get(a, j);
+				double addedAC = cost.cost(a, c);
+				// neighbors are sorted, farther ones cannot give a positive gain
+				if (addedAC >= removedAB - EPSILON) {
+					break;
+				}
+				int d = direction == 0 ? tour.next(c) : tour.prev(c);
+				if (c == b || d == a) {
+					continue;
+				}
+
+				double delta = addedAC + cost.cost(b, d) - removedAB - cost.cost(c, d);
+				if (delta < -EPSILON) {
+					if (direction == 0) {
+						// a b ... c d  ->  a c ... b d
+						tour.reversePath(tour.position[b], tour.position[c]);
+					} else {
+						// b a ... d c  ->  b d ... a c
+						tour.reversePath(tour.position[a], tour.position[d]);
+					}
+					tour.push(b);
+					tour.push(c);
+					tour.push(d);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Searches an improving Or-opt move of a segment starting at the node next to one of the neighbors of its ends.
+	 *
+	 * @return true if a move was applied
+	 */
+	private boolean orOpt(Tour tour, NeighborLists lists, int first) {
+		int last = first;
+		for (int length = 1; length <= MAX_SEGMENT; length++) {
+			if (length > 1) {
+				last = tour.next(last);
+			}
+			int before = tour.prev(first);
+			int after = tour.next(last);
+			double removed = cost.cost(before, first) + cost.cost(last, after) - cost.cost(before, after);
+			if (removed <= EPSILON) {
+				continue;
+			}
+
+			for (int end = 0; end < 2; end++) {
+				int endNode = end == 0 ? first : last;
+				for (int j = 0; j < lists.getCount(); j++) {
+					int c = lists.get(endNode, j);
+					if (cost.cost(endNode, c) >= removed - EPSILON) {
+						break;
+					}
+					if (tour.distance(first, c) < length) {
+						continue;
+					}
+
+					// try the edges (c, next c) and (prev c, c)
+					for (int side = 0; side < 2; side++) {
+						int u = side == 0 ? c : tour.prev(c);
+						int v = side == 0 ? tour.next(c) : c;
+						if (tour.distance(first, u) < length || tour.distance(first, v) < length) {
+							continue;
+						}
+
+						double edge = cost.cost(u, v);
+						double forward = cost.cost(u, first) + cost.cost(last, v) - edge;
+						double reversed = cost.cost(u, last) + cost.cost(first, v) - edge;
+						boolean reverse = reversed < forward;
+						double delta = (reverse ? reversed : forward) - removed;
+
+						if (delta < -EPSILON) {
+							moveSegment(tour, first, length, u, v, reverse);
+							tour.push(first);
+							tour.push(last);
+							tour.push(before);
+							tour.push(after);
+							tour.push(u);
+							tour.push(v);
+							return true;
+						}
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Moves the segment of the given length starting at the node between the nodes u and v = next(u).
+	 * The move swaps two adjacent blocks of the tour by reversals, the shorter block between the segment
+	 * and the insertion point is used.
+	 */
+	private static void moveSegment(Tour tour, int first, int length, int u, int v, boolean reverse) {
+		int n = tour.n;
+		int start = tour.position[first];
+		int afterSegment = start + length >= n ? start + length - n : start + length;
+		// nodes from the end of the segment up to u, and from v up to the node before the segment
+		int middleAfter = tour.distance(tour.nodes[afterSegment], u) + 1;
+		int middleBefore = n - length - middleAfter;
+
+		if (middleAfter <= middleBefore) {
+			// [segment][after .. u]  ->  [after .. u][segment]
+			if (!reverse) {
+				tour.reverse(start, length);
+			}
+			tour.reverse(afterSegment, middleAfter);
+			tour.reverse(start, length + middleAfter);
+		} else {
+			// [v .. before][segment]  ->  [segment][v .. before]
+			int blockStart = tour.position[v];
+			int segmentStart = blockStart + middleBefore >= n ? blockStart + middleBefore - n : blockStart + middleBefore;
+			tour.reverse(blockStart, middleBefore);
+			if (!reverse) {
+				tour.reverse(segmentStart, length);
+			}
+			tour.reverse(blockStart, middleBefore + length);
+		}
+	}
+
+	/**
+	 * Returns the nearest neighbor lists for the given number of nodes, computing them on first use.
+	 */
+	private NeighborLists neighborLists(int length) {
+		NeighborLists lists = neighbors;
+		if (lists == null || lists.getSize() != length) {
+			synchronized (this) {
+				lists = neighbors;
+				if (lists == null || lists.getSize() != length) {
+					lists = new NeighborLists(cost, length, candidates);
+					neighbors = lists;
+				}
+			}
+		}
+		return lists;
+	}
+}
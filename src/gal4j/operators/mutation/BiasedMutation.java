@@ -3,6 +3,7 @@ package gal4j.operators.mutation;
 import java.util.Random;
 
 import gal4j.chromosome.AChromosome;
+import gal4j.utils.Sampling;
 
 
 /**
@@ -39,26 +40,29 @@ public class BiasedMutation implements IMutation {
 	
 	/**
      * Mutates genes in a chromosome based on a fitness-biased probability.
+     * Mutated positions are found by geometric skips, so only they cost a random draw.
      *
      * @param chromosome the chromosome to mutate
-     * @return the mutated chromosome 
+     * @param changed    buffer receiving the changed positions, may be null
+     * @return the number of changed positions
      */
 	@Override
-	public AChromosome<?> mutate(AChromosome<?> chromosome) {
+	public int mutateInPlace(AChromosome<?> chromosome, ChangedPositions changed) {
        int length = chromosome.getGenLength();
-       if (length == 0) return chromosome; 
+       if (length == 0) return 0; 
 
        double fitness = chromosome.getFitness();
     
        double normProb = 1.0 / (fitness + 1.0);
         
-       for (int i = 0; i < length; i++) {
-           if (rand.nextDouble() < normProb) { 
-               chromosome.mutateGen(i);
-           }
+       int count = 0;
+       for (int i = Sampling.nextIndex(rand, normProb, -1); i < length; i = Sampling.nextIndex(rand, normProb, i)) {
+           chromosome.mutateGen(i);
+           if (changed != null) changed.add(i);
+           count++;
        }
 
-       return chromosome;
+       return count;
 	}
 
 }
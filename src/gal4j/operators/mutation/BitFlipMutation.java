@@ -0,0 +1,124 @@
+package gal4j.operators.mutation;
+
+import java.util.Random;
+
+import gal4j.chromosome.AChromosome;
+import gal4j.chromosome.IBitPacked;
+import gal4j.utils.BitWords;
+import gal4j.utils.Sampling;
+
+/**
+ * A mutation operator that mutates every gene independently with a given probability.
+ *
+ * Bit-packed chromosomes are mutated by XOR with sparse random masks. For small probabilities only the flipped
+ * bits are sampled by geometric skips, for larger ones a random mask is built for every word of 64 genes.
+ * Other chromosomes have the sampled genes mutated one by one.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class BitFlipMutation implements IPackedMutation {
+
+	/** Probability of mutating every gene */
+	private final double probability;
+	/** Probability encoded for random masks */
+	private final long encodedProbability;
+	/** Random number generator */
+	private final Random rand;
+
+	/**
+     * Constructs a BitFlipMutation with a default random generator.
+     *
+     * @param probability the probability of mutating every gene
+     */
+	public BitFlipMutation(double probability) {
+		this(probability, new Random());
+	}
+
+	/**
+     * Constructs a BitFlipMutation with a custom random generator.
+     *
+     * @param probability the probability of mutating every gene
+     * @param rand        the Random instance to use
+     */
+	public BitFlipMutation(double probability, Random rand) {
+		this.probability = probability;
+		this.encodedProbability = BitWords.encodeProbability(probability);
+		this.rand = rand;
+	}
+
+
+	/**
+     * Mutates every gene of the chromosome with the given probability.
+     *
+     * @param chromosome the chromosome to mutate
+     * @param changed    buffer receiving the changed positions, may be null
+     * @return the number of changed positions
+     */
+	@Override
+	public int mutateInPlace(AChromosome<?> chromosome, ChangedPositions changed) {
+		int length = chromosome.getGenLength();
+
+		if (chromosome instanceof IBitPacked) {
+			long[] words = ((IBitPacked) chromosome).getWords();
+			return mutateWords(words, 0, words.length, length, changed);
+		}
+
+		int count = 0;
+		for (int i = Sampling.nextIndex(rand, probability, -1); i < length; i = Sampling.nextIndex(rand, probability, i)) {
+			chromosome.mutateGen(i);
+			if (changed != null) changed.add(i);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+     * Mutates every packed gene in the words [fromWord, toWord) with the given probability.
+     *
+     * @param  words    the packed genes
+     * @param  fromWord the first mutated word
+     * @param  toWord   the word after the last mutated one
+     * @param  length   the number of genes of the chromosome
+     * @param  changed  buffer receiving the changed positions, may be null
+     * @return the number of changed positions
+     */
+	@Override
+	public int mutateWords(long[] words, int fromWord, int toWord, int length, ChangedPositions changed) {
+		int count = 0;
+
+		if (probability < BitWords.SPARSE_PROBABILITY) {
+			// the skips are memoryless, so sampling can start at any word
+			int end = (int) Math.min((long) toWord << 6, length);
+			for (int i = Sampling.nextIndex(rand, probability, (fromWord << 6) - 1); i < end; i = Sampling.nextIndex(rand, probability, i)) {
+				words[i >>> 6] ^= 1L << i;
+				if (changed != null) changed.add(i);
+				count++;
+			}
+			return count;
+		}
+
+		for (int w = fromWord; w < toWord; w++) {
+			long mask = BitWords.randomWord(rand, encodedProbability);
+			if (((long) w + 1) << 6 > length) {
+				mask &= BitWords.lastWordMask(length);
+			}
+			words[w] ^= mask;
+			count += Long.bitCount(mask);
+
+			if (changed != null) {
+				for (long bits = mask; bits != 0; bits &= bits - 1) {
+					changed.add((w << 6) + Long.numberOfTrailingZeros(bits));
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+     * @return the probability of mutating every gene
+     */
+	public double getProbability() {
+		return probability;
+	}
+}
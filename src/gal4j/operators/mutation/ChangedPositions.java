@@ -0,0 +1,73 @@
+package gal4j.operators.mutation;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of gene positions changed by an in-place mutation.
+ *
+ * The buffer grows only when a mutation changes more positions than ever before, so it can be kept
+ * for the whole run and cleared before every mutation. The positions can be used to update the fitness
+ * or other derived values of the chromosome without processing all genes.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class ChangedPositions {
+
+	/** Changed positions in the order they were reported */
+	private int[] positions;
+	/** Number of reported positions */
+	private int size;
+
+	/**
+	 * Constructs an empty buffer with a small initial capacity.
+	 */
+	public ChangedPositions() {
+		this(16);
+	}
+
+	/**
+	 * Constructs an empty buffer.
+	 *
+	 * @param capacity the initial capacity
+	 */
+	public ChangedPositions(int capacity) {
+		this.positions = new int[Math.max(1, capacity)];
+	}
+
+	/**
+	 * Reports a changed position.
+	 *
+	 * @param position the position of the changed gene
+	 */
+	public void add(int position) {
+		if (size == positions.length) {
+			positions = Arrays.copyOf(positions, 2 * size);
+		}
+		positions[size++] = position;
+	}
+
+	/**
+	 * Returns the i-th reported position.
+	 *
+	 * @param i the order of the position
+	 * @return the position of the changed gene
+	 */
+	public int get(int i) {
+		return positions[i];
+	}
+
+	/**
+	 * @return the number of reported positions
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all reported positions, the capacity is kept.
+	 */
+	public void clear() {
+		size = 0;
+	}
+}
@@ -6,16 +6,29 @@ import gal4j.chromosome.AChromosome;
  * Interface for mutation operators in a genetic algorithm.
  *
  * A mutation operator alters a chromosome in some way, typically by changing one or more of its genes to introduce genetic diversity.
+ * Mutation is always done in place, the given chromosome is changed and no new chromosome is allocated.
  * 
  * @author Filip Křenek
  * @version 1.0
  */
 public interface IMutation {
 	/**
-     * Applies mutation to a given chromosome and returns the mutated result.
+     * Applies mutation directly to the given chromosome and reports the positions of the changed genes.
      *
-     * @param  chromosome the original chromosome to mutate
-     * @return a new chromosome with applied mutation
+     * @param  chromosome the chromosome to mutate
+     * @param  changed    buffer receiving the changed positions, may be null if they are not needed
+     * @return the number of changed positions
      */
-	public AChromosome<?> mutate(AChromosome<?> chromosome);
+	public int mutateInPlace(AChromosome<?> chromosome, ChangedPositions changed);
+
+	/**
+     * Applies mutation directly to the given chromosome.
+     *
+     * @param  chromosome the chromosome to mutate
+     * @return the same chromosome after mutation
+     */
+	public default AChromosome<?> mutate(AChromosome<?> chromosome) {
+		mutateInPlace(chromosome, null);
+		return chromosome;
+	}
 }
@@ -0,0 +1,24 @@
+package gal4j.operators.mutation;
+
+/**
+ * Interface for mutation operators which can mutate a range of words of a bit-packed chromosome.
+ *
+ * Crossovers of packed chromosomes call it for every block of words right after the block of the offspring
+ * is created, so the words are mutated while they are still in cache.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public interface IPackedMutation extends IMutation {
+	/**
+     * Mutates the packed genes in the words [fromWord, toWord).
+     *
+     * @param  words    the packed genes, see {@link gal4j.chromosome.IBitPacked}
+     * @param  fromWord the first mutated word
+     * @param  toWord   the word after the last mutated one
+     * @param  length   the number of genes of the chromosome
+     * @param  changed  buffer receiving the changed positions, may be null
+     * @return the number of changed positions
+     */
+	public int mutateWords(long[] words, int fromWord, int toWord, int length, ChangedPositions changed);
+}
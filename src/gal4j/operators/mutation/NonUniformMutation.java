@@ -1,17 +1,23 @@
 package gal4j.operators.mutation;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Random;
 
 import gal4j.chromosome.AChromosome;
+import gal4j.io.ICheckpointable;
+import gal4j.utils.Sampling;
 
 /**
  * A mutation operator that applies mutation with a probability that decreases over generations.
  * The mutation probability decreases non linearly as the number of generations increases.
+ * The current generation is saved in checkpoints.
  * 
  * @author Filip Křenek
  * @version 1.0
  */
-public class NonUniformMutation implements IMutation {
+public class NonUniformMutation implements IMutation, ICheckpointable {
 	
 	/** Controls the strength of the mutation */
     private final double b;
@@ -52,22 +58,25 @@ public class NonUniformMutation implements IMutation {
     
     /**
      * Mutates a chromosome based on the nonuniform mutation probability.
+     * Mutated positions are found by geometric skips, so only they cost a random draw.
      *
      * @param  chromosome the chromosome to mutate
-     * @return the mutated chromosome 
+     * @param  changed    buffer receiving the changed positions, may be null
+     * @return the number of changed positions
      */
     @Override
-    public AChromosome<?> mutate(AChromosome<?> chromosome) {
-        AChromosome<?> mutated = chromosome.clone();
+    public int mutateInPlace(AChromosome<?> chromosome, ChangedPositions changed) {
+        int count = 0;
+        int length = chromosome.getGenLength();
+        double mutationProb = mutationProbability();
 
-        for (int i = 0; i < chromosome.getGenLength(); i++) {
-        	double mutationProb = mutationProbability();
-            if (rand.nextDouble() < mutationProb) { 
-                mutated.mutateGen(i);
-            }
+        for (int i = Sampling.nextIndex(rand, mutationProb, -1); i < length; i = Sampling.nextIndex(rand, mutationProb, i)) {
+            chromosome.mutateGen(i);
+            if (changed != null) changed.add(i);
+            count++;
         }
 
-        return mutated;
+        return count;
     }
 
     /**
@@ -88,4 +97,25 @@ public class NonUniformMutation implements IMutation {
             currentGeneration++;
         }
     }
+
+    /**
+     * @return the current generation counter
+     */
+    public int getCurrentGeneration() {
+        return currentGeneration;
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(currentGeneration);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        int generation = in.readInt();
+        if (generation < 0 || generation > maxGenerations) {
+            throw new IOException("Invalid generation of the mutation: " + generation);
+        }
+        currentGeneration = generation;
+    }
 }
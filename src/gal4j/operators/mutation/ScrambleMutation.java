@@ -1,8 +1,5 @@
 package gal4j.operators.mutation;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 import java.util.Random;
 
 import gal4j.chromosome.AChromosome;
@@ -40,47 +37,48 @@ public class ScrambleMutation implements IMutation {
 	
 	/**
      * Mutates a chromosome by scrambling a randomly chosen subsection of genes.
+     * The subsection is shuffled in place, a subsection of two genes is always swapped.
      * 
      * @param chromosome the chromosome to mutate
-     * @return the mutated chromosome
+     * @param changed    buffer receiving the positions of the subsection, may be null
+     * @return the number of positions in the scrambled subsection
      */
 	@Override
-	public AChromosome<?> mutate(AChromosome<?> chromosome) {
+	public int mutateInPlace(AChromosome<?> chromosome, ChangedPositions changed) {
 		int length = chromosome.getGenLength();
-		    if (length < 2) return chromosome; 
+		    if (length < 2) return 0; 
 		
 	
 		    
-		int start = rand.nextInt(length);
-		int end = rand.nextInt(start, length);
-		while(start == end ) {
-			end = rand.nextInt(start, length);
-		}
-
+		// The subsection has at least two genes
+		int start = rand.nextInt(length - 1);
+		int end = rand.nextInt(start + 1, length);
 
 
-		List<Object> subGenes = new ArrayList<>();
-		for (int i = start; i <= end; i++) {
-		    subGenes.add(chromosome.getGen(i));
-		}
-
-		if (subGenes.size() == 2) {
-			Collections.shuffle(subGenes);
-			if (subGenes.get(0).equals(chromosome.getGen(start)) && subGenes.get(1).equals(chromosome.getGen(end))) {
-				Collections.swap(subGenes, 0, 1);  // Zamění pořadí
-			}
+		if (end - start == 1) {
+			swap(chromosome, start, end);
 		} else {
-			Collections.shuffle(subGenes);
+			// Fisher-Yates shuffle of the subsection
+			for (int i = end; i > start; i--) {
+				swap(chromosome, i, start + rand.nextInt(i - start + 1));
+			}
 		}
 		
-		
-	    for (int i = start; i <= end; i++) {
-	        chromosome.setGen(i, subGenes.get(i - start));
-	    }
-	  
+		if (changed != null) {
+			for (int i = start; i <= end; i++) {
+				changed.add(i);
+			}
+		}
 	
-	    return chromosome;
+	    return end - start + 1;
 	}
-}
-
 
+	/**
+	 * Swaps two genes of the chromosome.
+	 */
+	private static void swap(AChromosome<?> chromosome, int i, int j) {
+		Object gene = chromosome.getGen(i);
+		chromosome.setGen(i, chromosome.getGen(j));
+		chromosome.setGen(j, gene);
+	}
+}
@@ -38,17 +38,18 @@ public class SinglePointMutation implements IMutation {
      * Mutates a chromosome by selecting a random gene and applying mutation to it.
      *
      * @param chromosome the chromosome to mutate
-     * @return the mutated chromosome
+     * @param changed    buffer receiving the changed position, may be null
+     * @return the number of changed positions
      */
 	@Override
-	public AChromosome<?> mutate(AChromosome<?> chromosome) {
+	public int mutateInPlace(AChromosome<?> chromosome, ChangedPositions changed) {
 		
 		int mutationPoint = rand.nextInt(chromosome.getGenLength());
 		
 		chromosome.mutateGen(mutationPoint);
+		if (changed != null) changed.add(mutationPoint);
 		
-		
-		return chromosome;
+		return 1;
 		
 	}
 	
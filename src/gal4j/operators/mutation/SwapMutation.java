@@ -36,13 +36,14 @@ public class SwapMutation implements IMutation {
      * Mutates the given chromosome by swapping two randomly selected genes.
      * 
      * @param  chromosome The chromosome to be mutated.
-     * @return The mutated chromosome with two genes swapped.
+     * @param  changed    Buffer receiving the changed positions, may be null.
+     * @return The number of changed positions.
      */
     @Override
-    public AChromosome<?> mutate(AChromosome<?> chromosome) {
+    public int mutateInPlace(AChromosome<?> chromosome, ChangedPositions changed) {
         int length = chromosome.getGenLength();
         if (length < 2) {
-            return chromosome;  
+            return 0;  
         }
 
         // Select two distinct random indices
@@ -58,7 +59,11 @@ public class SwapMutation implements IMutation {
 
         chromosome.setGen(index1, gene2);
         chromosome.setGen(index2, gene1);
+        if (changed != null) {
+            changed.add(index1);
+            changed.add(index2);
+        }
 
-        return chromosome;
+        return 2;
     }
 }
@@ -37,10 +37,11 @@ public class TwoPointMutation implements IMutation {
      * Applies twopoint mutation to the given chromosome.
      *
      * @param  chromosome The chromosome to mutate.
-     * @return The chromosome after mutation, with two genes altered.
+     * @param  changed    Buffer receiving the changed positions, may be null.
+     * @return The number of changed positions.
      */
 	@Override
-	public AChromosome<?> mutate(AChromosome<?> chromosome) {
+	public int mutateInPlace(AChromosome<?> chromosome, ChangedPositions changed) {
 		
 		
 		
@@ -53,8 +54,12 @@ public class TwoPointMutation implements IMutation {
 		
 		chromosome.mutateGen(mutationPoint1);
 		chromosome.mutateGen(mutationPoint2);
+		if (changed != null) {
+			changed.add(mutationPoint1);
+			changed.add(mutationPoint2);
+		}
 		
-		return chromosome;
+		return 2;
 		
 	}
 	
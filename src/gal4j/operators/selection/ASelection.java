@@ -1,14 +1,11 @@
 package gal4j.operators.selection;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import gal4j.algorithm.Population;
 import gal4j.chromosome.AChromosome;
 
 /**
  * Abstract base class for selection operators.
- * Maintains a set of returned chromosomes to prevent repeated references.
+ * Tracks returned chromosomes by marking them with a selection epoch to prevent repeated references.
  * Subclasses should implement the select method.
  * 
  * @author Filip Křenek
@@ -17,10 +14,10 @@ import gal4j.chromosome.AChromosome;
 public abstract class ASelection {
 	
 	/**
-     * A set of chromosomes that have already been returned by the selection process.
-     * This helps to avoid returning the same reference multiple times.
+     * Epoch of the current selection process. Chromosomes already returned in this epoch are marked with it,
+     * which helps to avoid returning the same reference multiple times.
      */
-	protected Set<AChromosome<?>> returnedChromosomes = new HashSet<>();
+	private int epoch = AChromosome.nextEpoch();
 	
 	/**
      * Selects a chromosome from the given population according to the specific
@@ -32,30 +29,79 @@ public abstract class ASelection {
 	public abstract AChromosome<?> select(Population population);
 	
 	/**
-     * Clears the set of returned chromosomes.
+	 * Prepares the operator for selecting from the given population.
+	 * Called once per generation after fitness evaluation and before the first call of select,
+	 * so subclasses can build lookup structures that make each following select cheap.
+	 * The default implementation does nothing.
+	 *
+	 * @param population The population from which chromosomes will be selected.
+	 */
+	public void prepare(Population population) {
+	}
+	
+	/**
+     * Starts a new selection epoch, so no chromosome is considered returned anymore.
      * This should be called after the full selection process to reset tracking of which chromosomes have been returned.
      */
 	public void reset() {
-		returnedChromosomes.clear();
+		epoch = AChromosome.nextEpoch();
 	}
 	
 	/**
      * Ensures that the same chromosome reference is not returned multiple times.
-     * If the chromosome has not been returned before, it is added to the set and returned.
-     * Otherwise, a clone is returned instead.
+     * If the chromosome has not been returned before, it is marked with the current epoch and returned.
+     * Otherwise, a clone with the same fitness is returned instead.
      *
      * @param  selected The selected chromosome.
      * @return The original chromosome if it hasn't been returned before, otherwise a clone.
      */
 	public AChromosome<?> checkReturn(AChromosome<?> selected) {
-		if(!returnedChromosomes.contains(selected)) {
-        	returnedChromosomes.add(selected);
+		if(selected.mark(epoch)) {
         	return selected;
         }
         else {
         	AChromosome<?> copy = selected.clone();
+        	copy.setFitness(selected.getFitness());
         	return copy;
         }
 	}
 	
+	/**
+	 * Builds an array of cumulative fitness values of the population in its current order.
+	 * The last element holds the total fitness.
+	 *
+	 * @param  population The population to process.
+	 * @return Prefix sums of the fitness values.
+	 */
+	protected static double[] cumulativeFitness(Population population) {
+		double[] cumulative = new double[population.getPopulationSize()];
+		double sum = 0.0;
+		for (int i = 0; i < cumulative.length; i++) {
+			sum += population.getChromosome(i).getFitness();
+			cumulative[i] = sum;
+		}
+		return cumulative;
+	}
+	
+	/**
+	 * Finds the first index whose cumulative fitness is greater or equal to the target by binary search.
+	 *
+	 * @param  cumulative Prefix sums created by {@link #cumulativeFitness(Population)}.
+	 * @param  target     The spin of the wheel in range [0, total fitness].
+	 * @return Index of the selected chromosome.
+	 */
+	protected static int searchCumulative(double[] cumulative, double target) {
+		int low = 0;
+		int high = cumulative.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cumulative[mid] >= target) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+	
 }
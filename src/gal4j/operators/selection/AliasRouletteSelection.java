@@ -0,0 +1,137 @@
+package gal4j.operators.selection;
+
+import java.util.Random;
+
+import gal4j.algorithm.Population;
+import gal4j.chromosome.AChromosome;
+
+/**
+ * AliasRouletteSelection is a fitness proportionate selection which uses the alias method of Vose.
+ * The alias table is built once per generation in O(n) and every following selection takes O(1) time,
+ * independent of the population size.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class AliasRouletteSelection extends ASelection implements IBatchSelection {
+
+	/** Random number generator used for selection */
+    private final Random rand;
+    /** Probability of keeping the column instead of using its alias */
+    private double[] probability;
+    /** Alias index of every column */
+    private int[] alias;
+    /** Population for which the table was built */
+    private Population prepared;
+
+    /**
+     * Constructs an AliasRouletteSelection with a new random generator.
+     */
+    public AliasRouletteSelection() {
+        this.rand = new Random();
+    }
+
+    /**
+     * Constructs an AliasRouletteSelection using a custom random generator.
+     *
+     * @param rand the Random instance to use
+     */
+    public AliasRouletteSelection(Random rand) {
+        this.rand = rand;
+    }
+
+    /**
+     * Builds the alias table of the population.
+     *
+     * @param population the population to select from
+     */
+    @Override
+    public void prepare(Population population) {
+        int n = population.getPopulationSize();
+        probability = new double[n];
+        alias = new int[n];
+
+        double total = 0.0;
+        for (int i = 0; i < n; i++) {
+            total += population.getChromosome(i).getFitness();
+        }
+
+        // Scale the weights so that the average column has height 1
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            probability[i] = total > 0 ? population.getChromosome(i).getFitness() * n / total : 1.0;
+            if (probability[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Fill every small column with the rest of some large column
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            alias[less] = more;
+            probability[more] = (probability[more] + probability[less]) - 1.0;
+
+            if (probability[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Remaining columns are full, differences are only rounding errors
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+
+        prepared = population;
+    }
+
+    /**
+     * Selects a chromosome from the population using the alias table.
+     *
+     * @param  population the population to select from
+     * @return the selected chromosome
+     */
+    @Override
+    public AChromosome<?> select(Population population) {
+        if (prepared != population || probability.length != population.getPopulationSize()) {
+            prepare(population);
+        }
+
+        int column = rand.nextInt(probability.length);
+        int index = rand.nextDouble() < probability[column] ? column : alias[column];
+
+        return checkReturn(population.getChromosome(index));
+    }
+
+    /**
+     * Selects every requested parent from the alias table.
+     *
+     * @param  population the population to select from
+     * @param  count      the number of chromosomes to select
+     * @return indices of the selected chromosomes
+     */
+    @Override
+    public int[] selectIndices(Population population, int count) {
+        if (prepared != population || probability.length != population.getPopulationSize()) {
+            prepare(population);
+        }
+
+        int[] selected = new int[count];
+        for (int i = 0; i < count; i++) {
+            int column = rand.nextInt(probability.length);
+            selected[i] = rand.nextDouble() < probability[column] ? column : alias[column];
+        }
+        return selected;
+    }
+}
@@ -14,12 +14,16 @@ import gal4j.chromosome.AChromosome;
  * @author Filip Křenek
  * @version 1.0
  */
-public class EliteSelection extends ASelection {
+public class EliteSelection extends ASelection implements IBatchSelection {
 	
 	/** The number of elite chromosomes to select from the population */
     private final int eliteCount;
     /** Index of the next elite chromosome to return */
     private int currentEliteIndex;
+    /** Population indices of the elite chromosomes, best first */
+    private int[] elites = new int[0];
+    /** Population for which the elites were found */
+    private Population prepared;
 
     
     /**
@@ -33,9 +37,22 @@ public class EliteSelection extends ASelection {
     }
     
 
+    /**
+     * Finds the elite chromosomes of the population with a partial top-k selection,
+     * the population itself is not sorted.
+     *
+     * @param population The population from which elites will be selected.
+     */
+    @Override
+    public void prepare(Population population) {
+    	elites = population.getTopIndices(eliteCount);
+    	prepared = population;
+    	currentEliteIndex = 0;
+    }
+    
+
     /**
      * Selects the next elite chromosome from the top of the population.
-     * The population is sorted if not already sorted.
      *
      * @param population The population from which to select the elite chromosome.
      * @return The next elite chromosome
@@ -43,11 +60,11 @@ public class EliteSelection extends ASelection {
     @Override
     public AChromosome<?> select(Population population) {
         
-    	if(!population.isSorted()) {
-    		population.sortPopulation();
+    	if(prepared != population) {
+    		prepare(population);
     	}
 
-        AChromosome<?> selectedElite = population.getChromosome(currentEliteIndex);
+        AChromosome<?> selectedElite = population.getChromosome(elites[currentEliteIndex]);
         
         if(currentEliteIndex != eliteCount) {
         	currentEliteIndex = (currentEliteIndex += 1) % eliteCount;
@@ -57,6 +74,28 @@ public class EliteSelection extends ASelection {
 		return null;
             
     }
+    
+    
+    /**
+     * Returns indices of the elite chromosomes, cycling through them if more parents
+     * than elites are requested.
+     *
+     * @param  population the population to select from
+     * @param  count      the number of chromosomes to select
+     * @return indices of the elite chromosomes
+     */
+    @Override
+    public int[] selectIndices(Population population, int count) {
+    	if(prepared != population) {
+    		prepare(population);
+    	}
+    	
+    	int[] selected = new int[count];
+    	for (int i = 0; i < count; i++) {
+    		selected[i] = elites[i % elites.length];
+    	}
+    	return selected;
+    }
 
 
 	
@@ -1,9 +1,9 @@
 package gal4j.operators.selection;
 
-import java.util.List;
 import java.util.Random;
 
 import gal4j.algorithm.Population;
+import gal4j.algorithm.Ranking;
 import gal4j.chromosome.AChromosome;
 
 /**
@@ -14,16 +14,26 @@ import gal4j.chromosome.AChromosome;
  * @author Filip Křenek
  * @version 1.0
  */
-public class FitnessUniformSelection extends ASelection {
+public class FitnessUniformSelection extends ASelection implements IBatchSelection {
 
 	/** Random number generator used for fitness sampling */
     private final Random rand;
+    /** Number of fitness bins used to narrow the search, 0 means plain binary search */
+    private final int bins;
+    /** Fitness values of the prepared population in ascending order */
+    private double[] sortedFitness = new double[0];
+    /** For every bin, the first position in sortedFitness whose value falls into the bin or above */
+    private int[] binStart;
+    /** Ranking of the prepared population */
+    private Ranking ranking;
+    /** Population for which the arrays were built */
+    private Population prepared;
 
     /**
      * Constructs a FitnessUniformSelection with a new random generator.
      */
     public FitnessUniformSelection() {
-        this.rand = new Random();
+        this(0, new Random());
     }
     
     /**
@@ -32,9 +42,68 @@ public class FitnessUniformSelection extends ASelection {
      * @param rand Custon random number generator
      */
     public FitnessUniformSelection(Random rand) {
+        this(0, rand);
+    }
+    
+    /**
+     * Constructs a FitnessUniformSelection which divides the fitness range into bins.
+     * The bin of a target fitness is found in O(1) and only the chromosomes inside it are searched.
+     *
+     * @param bins number of bins, 0 disables binning
+     */
+    public FitnessUniformSelection(int bins) {
+        this(bins, new Random());
+    }
+    
+    /**
+     * Constructs a FitnessUniformSelection with fitness bins and a given random generator.
+     *
+     * @param bins number of bins, 0 disables binning
+     * @param rand Custon random number generator
+     */
+    public FitnessUniformSelection(int bins, Random rand) {
+        this.bins = Math.max(0, bins);
         this.rand = rand;
     }
     
+    
+    /**
+     * Ranks the population once and copies its fitness values into a primitive array in ascending order.
+     * The population itself is not reordered.
+     * If binning is enabled, the start of every bin in that array is stored as well.
+     *
+     * @param population The population from which to select.
+     */
+    @Override
+    public void prepare(Population population) {
+        ranking = population.getRanking();
+        
+        int n = population.getPopulationSize();
+        sortedFitness = new double[n];
+        for (int i = 0; i < n; i++) {
+        	// ranking is in descending order
+        	sortedFitness[i] = ranking.getFitness(n - 1 - i);
+        }
+        
+        if (bins > 0 && n > 0) {
+        	binStart = new int[bins + 1];
+        	double min = sortedFitness[0];
+        	double width = (sortedFitness[n - 1] - min) / bins;
+        	int position = 0;
+        	for (int b = 0; b < bins; b++) {
+        		double lower = min + b * width;
+        		while (position < n && sortedFitness[position] < lower) {
+        			position++;
+        		}
+        		binStart[b] = position;
+        	}
+        	binStart[bins] = n;
+        } else {
+        	binStart = null;
+        }
+        
+        prepared = population;
+    }
 
     /**
      * Selects a chromosome whose fitness is closest to a randomly generated target fitness.
@@ -44,33 +113,80 @@ public class FitnessUniformSelection extends ASelection {
      */
     @Override
     public AChromosome<?> select(Population population) {
-        List<AChromosome<?>> chromosomes = population.getPopulation();
-       
-
-        if(!population.isSorted()) {
-        	population.sortPopulation();
+        if (prepared != population || sortedFitness.length != population.getPopulationSize()) {
+        	prepare(population);
         }
         
-        double minFitness = population.getWorstChromosome().getFitness();
-        double maxFitness = population.getBestChromosome().getFitness();
-        
+        return checkReturn(population.getChromosome(sample()));
+    }
+    
+    /**
+     * Draws a new target fitness for every requested parent.
+     *
+     * @param  population The population from which to select.
+     * @param  count      The number of chromosomes to select.
+     * @return Indices of the chromosomes closest to the targets.
+     */
+    @Override
+    public int[] selectIndices(Population population, int count) {
+        if (prepared != population || sortedFitness.length != population.getPopulationSize()) {
+        	prepare(population);
+        }
         
+        int[] selected = new int[count];
+        for (int i = 0; i < count; i++) {
+        	selected[i] = sample();
+        }
+        return selected;
+    }
+    
+    /**
+     * Generates a random target fitness and finds the chromosome with the nearest fitness.
+     *
+     * @return Index of the chromosome closest to the target in the population.
+     */
+    private int sample() {
+        int n = sortedFitness.length;
+        double minFitness = sortedFitness[0];
+        double maxFitness = sortedFitness[n - 1];
 
-        // Náhodně vyber fitness hodnotu v rozsahu <minFitness, maxFitness>
+        // Random fitness value in range <minFitness, maxFitness>
         double targetFitness = minFitness + rand.nextDouble() * (maxFitness - minFitness);
 
-        // Najdi jedince s fitness nejblíže k targetFitness
-        AChromosome<?> selected = null;
-        double bestDifference = Double.MAX_VALUE;
+        // Narrow the search to the bin of the target if bins are used
+        int low = 0;
+        int high = n - 1;
+        if (binStart != null && maxFitness > minFitness) {
+        	int bin = (int) ((targetFitness - minFitness) / (maxFitness - minFitness) * bins);
+        	bin = Math.min(bin, bins - 1);
+        	double width = (maxFitness - minFitness) / bins;
+        	// guard against rounding differences to the bounds used in prepare
+        	while (bin > 0 && targetFitness < minFitness + bin * width) {
+        		bin--;
+        	}
+        	while (bin < bins - 1 && targetFitness >= minFitness + (bin + 1) * width) {
+        		bin++;
+        	}
+        	low = binStart[bin];
+        	high = Math.min(binStart[bin + 1], n - 1);
+        }
+
+        // First position with fitness greater or equal to the target
+        while (low < high) {
+        	int mid = (low + high) >>> 1;
+        	if (sortedFitness[mid] >= targetFitness) {
+        		high = mid;
+        	} else {
+        		low = mid + 1;
+        	}
+        }
 
-        for (AChromosome<?> chromosome : chromosomes) {
-            double diff = Math.abs(chromosome.getFitness() - targetFitness);
-            if (diff < bestDifference) {
-                bestDifference = diff;
-                selected = chromosome;
-            }
+        // The nearest value is either this one or the one just below it
+        int nearest = low;
+        if (low > 0 && targetFitness - sortedFitness[low - 1] < Math.abs(sortedFitness[low] - targetFitness)) {
+        	nearest = low - 1;
         }
 
-        return checkReturn(selected);
+        return ranking.getIndex(n - 1 - nearest);
     }
 }
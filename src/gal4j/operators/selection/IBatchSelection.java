@@ -0,0 +1,24 @@
+package gal4j.operators.selection;
+
+import gal4j.algorithm.Population;
+
+/**
+ * Interface for selection operators which can choose the whole parent pool in one pass.
+ *
+ * Instead of returning chromosomes one by one, the operator returns positions of the selected
+ * chromosomes in the population. The same position may be returned more than once, the caller
+ * is responsible for handling repeated references.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public interface IBatchSelection {
+	/**
+     * Selects the given number of chromosomes from the population.
+     *
+     * @param  population the population to select from
+     * @param  count      the number of chromosomes to select
+     * @return indices of the selected chromosomes in the population
+     */
+	public int[] selectIndices(Population population, int count);
+}
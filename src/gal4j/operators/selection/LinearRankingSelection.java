@@ -0,0 +1,119 @@
+package gal4j.operators.selection;
+
+import java.util.Random;
+
+import gal4j.algorithm.Population;
+import gal4j.algorithm.Ranking;
+import gal4j.chromosome.AChromosome;
+
+/**
+ * LinearRankingSelection selects chromosomes with a probability that depends only on their rank.
+ * The best chromosome has weight equal to the selection pressure and the weight decreases linearly
+ * to 2 - pressure for the worst one, so the selection does not depend on the scale of the fitness values.
+ *
+ * The cumulative table of rank probabilities depends only on the population size and is reused between generations.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class LinearRankingSelection extends ASelection implements IBatchSelection {
+
+	/** Selection pressure in range [1, 2] */
+    private final double pressure;
+    /** Random number generator used for selection */
+    private final Random rand;
+    /** Cumulative probabilities of ranks, best rank first */
+    private double[] cumulativeRanks = new double[0];
+    /** Ranking of the prepared population */
+    private Ranking ranking;
+    /** Population for which the ranking was obtained */
+    private Population prepared;
+
+    /**
+     * Constructs a LinearRankingSelection with a new random generator.
+     *
+     * @param pressure selection pressure in range [1, 2], 1 means uniform selection
+     */
+    public LinearRankingSelection(double pressure) {
+        this(pressure, new Random());
+    }
+
+    /**
+     * Constructs a LinearRankingSelection using a custom random generator.
+     *
+     * @param pressure selection pressure in range [1, 2], 1 means uniform selection
+     * @param rand     the Random instance to use
+     */
+    public LinearRankingSelection(double pressure, Random rand) {
+        if (pressure < 1.0 || pressure > 2.0) {
+            throw new IllegalArgumentException("Selection pressure must be in range [1, 2]: " + pressure);
+        }
+        this.pressure = pressure;
+        this.rand = rand;
+    }
+
+    /**
+     * Obtains the ranking of the population and rebuilds the rank table if the population size changed.
+     *
+     * @param population the population to select from
+     */
+    @Override
+    public void prepare(Population population) {
+        int n = population.getPopulationSize();
+        if (cumulativeRanks.length != n) {
+            cumulativeRanks = new double[n];
+            double sum = 0.0;
+            for (int rank = 0; rank < n; rank++) {
+                double weight = n == 1 ? 1.0 : pressure - (2.0 * pressure - 2.0) * rank / (n - 1);
+                sum += weight / n;
+                cumulativeRanks[rank] = sum;
+            }
+        }
+
+        ranking = population.getRanking();
+        prepared = population;
+    }
+
+    /**
+     * Selects a chromosome according to its rank.
+     *
+     * @param  population the population to select from
+     * @return the selected chromosome
+     */
+    @Override
+    public AChromosome<?> select(Population population) {
+        if (prepared != population || ranking.size() != population.getPopulationSize()) {
+            prepare(population);
+        }
+
+        return checkReturn(population.getChromosome(sample()));
+    }
+
+    /**
+     * Selects every requested parent according to its rank.
+     *
+     * @param  population the population to select from
+     * @param  count      the number of chromosomes to select
+     * @return indices of the selected chromosomes
+     */
+    @Override
+    public int[] selectIndices(Population population, int count) {
+        if (prepared != population || ranking.size() != population.getPopulationSize()) {
+            prepare(population);
+        }
+
+        int[] selected = new int[count];
+        for (int i = 0; i < count; i++) {
+            selected[i] = sample();
+        }
+        return selected;
+    }
+
+    /**
+     * @return population index of a chromosome drawn from the rank table
+     */
+    private int sample() {
+        double target = rand.nextDouble() * cumulativeRanks[cumulativeRanks.length - 1];
+        return ranking.getIndex(searchCumulative(cumulativeRanks, target));
+    }
+}
@@ -26,6 +26,12 @@ public class RouleteElitismSelection extends ASelection {
 	private int currentEliteIndex;
 	/** Tracks the generation number to reset elite cycling per generation */
 	private int populationNum = 0;
+	/** Cumulative fitness values of the prepared population */
+	private double[] cumulative;
+	/** Population for which the cumulative array was built */
+	private Population prepared;
+	/** Population indices of the elite chromosomes, best first */
+	private int[] elites;
 	
 	/**
      * Constructs a selection mechanism with a given configuration and default randomness.
@@ -54,6 +60,22 @@ public class RouleteElitismSelection extends ASelection {
 	}
 	
 	
+	/**
+     * Finds the elite chromosomes with a partial top-k selection and builds the cumulative fitness array
+     * for the roulette part, so that each select is a binary search.
+     *
+     * @param population the population to select from
+     */
+	@Override
+	public void prepare(Population population) {
+		elites = population.getTopIndices(eliteCount);
+		cumulative = cumulativeFitness(population);
+		prepared = population;
+		populationNum = population.getGeneration();
+		currentEliteIndex = 0;
+	}
+	
+	
 	/**
      * Selects a chromosome either via elitism or roulette wheel selection.
      * Resets elite tracking if a new generation is detected.
@@ -63,41 +85,23 @@ public class RouleteElitismSelection extends ASelection {
      */
 	@Override
 	public AChromosome<?> select(Population population) {
-		int newGen = population.getGeneration();
-		
-		if(newGen != populationNum) {
-			populationNum = newGen;
-			currentEliteIndex = 0;
+		if(prepared != population || population.getGeneration() != populationNum
+				|| cumulative.length != population.getPopulationSize()) {
+			prepare(population);
 		}
 		
-
-		if(!population.isSorted()) {
-    		population.sortPopulation();
-    	}
-		
 		
 		if(rand.nextDouble() <= eliteRate) {
-			AChromosome<?> selected = population.getChromosome(currentEliteIndex);
-			currentEliteIndex = (currentEliteIndex += 1) % eliteCount;
+			AChromosome<?> selected = population.getChromosome(elites[currentEliteIndex]);
+			currentEliteIndex = (currentEliteIndex += 1) % elites.length;
 			return checkReturn(selected);
 			
 		}
 		
 		
-		double totalFitness = population.getPopulation().stream().mapToDouble(AChromosome::getFitness).sum();
-        double spin = rand.nextDouble() * totalFitness;
-        double cumulative = 0;
+        double spin = rand.nextDouble() * cumulative[cumulative.length - 1];
         
-        for (AChromosome<?> selected : population.getPopulation()) {
-            cumulative += selected.getFitness();
-            if (cumulative >= spin) {
-                return checkReturn(selected);
-            }
-        }
-		
-		
-		
-		return null;
+        return checkReturn(population.getChromosome(searchCumulative(cumulative, spin)));
 	}
 
 }
@@ -12,10 +12,14 @@ import gal4j.chromosome.AChromosome;
  * @author Filip Křenek
  * @version 1.0
  */
-public class RouletteWheelSelection extends ASelection {
+public class RouletteWheelSelection extends ASelection implements IBatchSelection {
 
 	/** Random number generator used for selection */
     private final Random rand;
+    /** Cumulative fitness values of the prepared population */
+    private double[] cumulative;
+    /** Population for which the cumulative array was built */
+    private Population prepared;
     
     /**
      * Constructs a RouletteWheelSelection with a new random generator.
@@ -35,6 +39,18 @@ public class RouletteWheelSelection extends ASelection {
        
     }
 
+    /**
+     * Builds the cumulative fitness array of the population.
+     * Each following select needs only one random number and a binary search.
+     *
+     * @param population the population to select from
+     */
+    @Override
+    public void prepare(Population population) {
+        cumulative = cumulativeFitness(population);
+        prepared = population;
+    }
+
     /**
      * Selects a chromosome from the population using roulette wheel selection.
      *
@@ -43,35 +59,36 @@ public class RouletteWheelSelection extends ASelection {
      */
     @Override
     public AChromosome<?> select(Population population) {
-    
-
-        // Calculate total fitness for non-selected chromosomes
-        double totalFitness = 0.0;
-        for (int i = 0; i < population.getPopulationSize(); i++) {
-            AChromosome<?> chromosome = population.getChromosome(i);
-            totalFitness += chromosome.getFitness();
+        if (prepared != population || cumulative.length != population.getPopulationSize()) {
+            prepare(population);
         }
 
         // Random value between 0 and totalFitness
-        double targetFitness = rand.nextDouble() * totalFitness;
+        double targetFitness = rand.nextDouble() * cumulative[cumulative.length - 1];
 
         // Find the chromosome whose cumulative fitness exceeds the targetFitness
-        double cumulativeFitness = 0.0;
-        for (int i = 0; i < population.getPopulationSize(); i++) {
-            AChromosome<?> selected = population.getChromosome(i);
-            
-            // Increment cumulative fitness
-            cumulativeFitness += selected.getFitness();
+        return checkReturn(population.getChromosome(searchCumulative(cumulative, targetFitness)));
+    }
 
-            // Check if this chromosome matches the target
-            if (cumulativeFitness >= targetFitness) {
-            	return checkReturn(selected);               
-            }
+    /**
+     * Spins the wheel once for every requested parent.
+     *
+     * @param  population the population to select from
+     * @param  count      the number of chromosomes to select
+     * @return indices of the selected chromosomes
+     */
+    @Override
+    public int[] selectIndices(Population population, int count) {
+        if (prepared != population || cumulative.length != population.getPopulationSize()) {
+            prepare(population);
         }
 
-       
-
-        return null; // This should never occure
+        double totalFitness = cumulative[cumulative.length - 1];
+        int[] selected = new int[count];
+        for (int i = 0; i < count; i++) {
+            selected[i] = searchCumulative(cumulative, rand.nextDouble() * totalFitness);
+        }
+        return selected;
     }
 
 
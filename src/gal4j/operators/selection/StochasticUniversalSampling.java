@@ -0,0 +1,132 @@
+package gal4j.operators.selection;
+
+import java.util.Random;
+
+import gal4j.algorithm.Population;
+import gal4j.chromosome.AChromosome;
+
+/**
+ * StochasticUniversalSampling is a fitness proportionate selection which places evenly spaced pointers
+ * over the cumulative fitness of the population and selects all parents in a single sweep.
+ * Compared to repeated roulette spins it needs only one random number per sweep and the number of copies
+ * of each chromosome is never far from its expected value.
+ *
+ * The selected parents are shuffled, so the order of selection does not follow the order of the population.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class StochasticUniversalSampling extends ASelection implements IBatchSelection {
+
+	/** Random number generator used for the pointer offset and shuffling */
+    private final Random rand;
+    /** Cumulative fitness values of the prepared population */
+    private double[] cumulative;
+    /** Population for which the cumulative array was built */
+    private Population prepared;
+    /** Indices selected by the last sweep, used by single selections */
+    private int[] sweep = new int[0];
+    /** Position of the next index in the sweep */
+    private int sweepPosition = 0;
+
+    /**
+     * Constructs a StochasticUniversalSampling with a new random generator.
+     */
+    public StochasticUniversalSampling() {
+        this.rand = new Random();
+    }
+
+    /**
+     * Constructs a StochasticUniversalSampling using a custom random generator.
+     *
+     * @param rand the Random instance to use
+     */
+    public StochasticUniversalSampling(Random rand) {
+        this.rand = rand;
+    }
+
+    /**
+     * Builds the cumulative fitness array of the population.
+     *
+     * @param population the population to select from
+     */
+    @Override
+    public void prepare(Population population) {
+        cumulative = cumulativeFitness(population);
+        prepared = population;
+        sweepPosition = sweep.length;
+    }
+
+    /**
+     * Returns the next chromosome of a sweep over the whole population.
+     * A new sweep with one pointer per chromosome is made when the previous one is used up.
+     *
+     * @param  population the population to select from
+     * @return the selected chromosome
+     */
+    @Override
+    public AChromosome<?> select(Population population) {
+        if (prepared != population || cumulative.length != population.getPopulationSize()) {
+            prepare(population);
+        }
+
+        if (sweepPosition >= sweep.length) {
+            sweep = sweep(population.getPopulationSize());
+            sweepPosition = 0;
+        }
+
+        return checkReturn(population.getChromosome(sweep[sweepPosition++]));
+    }
+
+    /**
+     * Selects all parents with one sweep of count evenly spaced pointers.
+     *
+     * @param  population the population to select from
+     * @param  count      the number of chromosomes to select
+     * @return indices of the selected chromosomes
+     */
+    @Override
+    public int[] selectIndices(Population population, int count) {
+        if (prepared != population || cumulative.length != population.getPopulationSize()) {
+            prepare(population);
+        }
+
+        return sweep(count);
+    }
+
+    /**
+     * Walks the cumulative fitness array once with count pointers spaced by total / count.
+     *
+     * @param  count the number of pointers
+     * @return shuffled indices of the selected chromosomes
+     */
+    private int[] sweep(int count) {
+        int[] selected = new int[count];
+        if (count == 0) {
+            return selected;
+        }
+
+        double total = cumulative[cumulative.length - 1];
+        double distance = total / count;
+        double pointer = rand.nextDouble() * distance;
+
+        int index = 0;
+        for (int i = 0; i < count; i++) {
+            while (index < cumulative.length - 1 && cumulative[index] < pointer) {
+                index++;
+            }
+            selected[i] = index;
+            pointer += distance;
+        }
+
+        // Fisher-Yates shuffle, neighbors in the sweep are usually the same chromosome
+        for (int i = count - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int temp = selected[i];
+            selected[i] = selected[j];
+            selected[j] = temp;
+        }
+
+        return selected;
+    }
+}
@@ -12,7 +12,7 @@ import gal4j.chromosome.AChromosome;
  * @author Filip Křenek
  * @version 1.0
  */
-public class TournamentSelection extends ASelection {
+public class TournamentSelection extends ASelection implements IBatchSelection {
 
 	/** Number of individuals participating in each tournament */
     private int tournamentSize;
@@ -53,17 +53,43 @@ public class TournamentSelection extends ASelection {
      */
     @Override
     public AChromosome<?> select(Population population) {
-       
-        AChromosome<?> candidate = null;
+        return checkReturn(population.getChromosome(tournament(population)));
+    }
+
+    /**
+     * Runs one tournament for every requested parent.
+     *
+     * @param  population the population to select from
+     * @param  count      the number of chromosomes to select
+     * @return indices of the tournament winners
+     */
+    @Override
+    public int[] selectIndices(Population population, int count) {
+        int[] selected = new int[count];
+        for (int i = 0; i < count; i++) {
+            selected[i] = tournament(population);
+        }
+        return selected;
+    }
+
+    /**
+     * Randomly selects tournamentSize individuals and returns the index of the fittest among them.
+     *
+     * @param  population the population to select from
+     * @return index of the winner
+     */
+    private int tournament(Population population) {
+        int candidate = -1;
+        double candidateFitness = 0;
         for (int i = 0; i < tournamentSize; i++) {
-            AChromosome<?> potential = population.getChromosome(rand.nextInt(population.getPopulationSize()));
-            if (candidate == null || potential.getFitness() > candidate.getFitness()) {
+            int potential = rand.nextInt(population.getPopulationSize());
+            double potentialFitness = population.getChromosome(potential).getFitness();
+            if (candidate == -1 || potentialFitness > candidateFitness) {
                 candidate = potential;
+                candidateFitness = potentialFitness;
             }
         }
-        
-       
-        return checkReturn(candidate);
+        return candidate;
     }
 
     
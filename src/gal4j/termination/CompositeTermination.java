@@ -0,0 +1,138 @@
+package gal4j.termination;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import gal4j.io.ICheckpointable;
+import gal4j.listener.GenerationEvent;
+
+/**
+ * Termination policy combining other policies by AND or OR.
+ *
+ * Every combined policy sees every generation, even when the result is already decided,
+ * so stateful policies such as {@link StagnationTermination} keep counting.
+ * States of the combined policies are saved in checkpoints in the order of the policies.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class CompositeTermination implements ITermination, ICheckpointable {
+
+	/** Combined policies */
+	private final List<ITermination> policies;
+	/** Whether all policies must be satisfied (AND), otherwise any of them (OR) */
+	private final boolean all;
+	/** Reason of the last satisfied combination */
+	private String reason = "";
+
+	/**
+     * Constructs a CompositeTermination.
+     *
+     * @param all      whether all policies must be satisfied (AND), otherwise any of them (OR)
+     * @param policies the combined policies
+     */
+	public CompositeTermination(boolean all, List<ITermination> policies) {
+		if (policies == null || policies.isEmpty()) {
+			throw new IllegalArgumentException("Composite termination needs at least one policy.");
+		}
+		for (ITermination policy : policies) {
+			if (policy == null) {
+				throw new IllegalArgumentException("Composite termination must not contain null policies.");
+			}
+		}
+		this.all = all;
+		this.policies = new ArrayList<>(policies);
+	}
+
+	/**
+     * @param  policies the combined policies
+     * @return a policy satisfied when all given policies are satisfied
+     */
+	public static CompositeTermination allOf(ITermination... policies) {
+		return new CompositeTermination(true, Arrays.asList(policies));
+	}
+
+	/**
+     * @param  policies the combined policies
+     * @return a policy satisfied when any of the given policies is satisfied
+     */
+	public static CompositeTermination anyOf(ITermination... policies) {
+		return new CompositeTermination(false, Arrays.asList(policies));
+	}
+
+
+	@Override
+	public boolean isSatisfied(GenerationEvent event) {
+		StringBuilder reasons = new StringBuilder();
+		int satisfied = 0;
+		for (ITermination policy : policies) {
+			if (policy.isSatisfied(event)) {
+				satisfied++;
+				if (reasons.length() > 0) {
+					reasons.append(all ? " and " : ", ");
+				}
+				reasons.append(policy.getReason());
+			}
+		}
+
+		boolean result = all ? satisfied == policies.size() : satisfied > 0;
+		if (result) {
+			reason = reasons.toString();
+		}
+		return result;
+	}
+
+	@Override
+	public String getReason() {
+		return reason;
+	}
+
+	@Override
+	public void reset() {
+		reason = "";
+		for (ITermination policy : policies) {
+			policy.reset();
+		}
+	}
+
+	@Override
+	public void writeState(DataOutput out) throws IOException {
+		out.writeInt(policies.size());
+		for (ITermination policy : policies) {
+			if (policy instanceof ICheckpointable) {
+				((ICheckpointable) policy).writeState(out);
+			}
+		}
+	}
+
+	@Override
+	public void readState(DataInput in) throws IOException {
+		int size = in.readInt();
+		if (size != policies.size()) {
+			throw new IOException("Saved composite termination has " + size + " policies, this one " + policies.size());
+		}
+		for (ITermination policy : policies) {
+			if (policy instanceof ICheckpointable) {
+				((ICheckpointable) policy).readState(in);
+			}
+		}
+	}
+
+	/**
+     * @return whether all policies must be satisfied (AND), otherwise any of them (OR)
+     */
+	public boolean isAll() {
+		return all;
+	}
+
+	/**
+     * @return a copy of the combined policies
+     */
+	public List<ITermination> getPolicies() {
+		return new ArrayList<>(policies);
+	}
+}
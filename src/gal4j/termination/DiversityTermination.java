@@ -0,0 +1,39 @@
+package gal4j.termination;
+
+import gal4j.listener.GenerationEvent;
+
+/**
+ * Termination policy satisfied when the diversity of the population, the standard deviation
+ * of its fitness, falls below a threshold, i.e. when the population has converged.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class DiversityTermination implements ITermination {
+
+	/** Diversity below which the run stops */
+	private final double threshold;
+
+	/**
+     * Constructs a DiversityTermination.
+     *
+     * @param threshold the diversity below which the run stops
+     */
+	public DiversityTermination(double threshold) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("Diversity threshold must not be negative: " + threshold);
+		}
+		this.threshold = threshold;
+	}
+
+
+	@Override
+	public boolean isSatisfied(GenerationEvent event) {
+		return event.getDiversity() < threshold;
+	}
+
+	@Override
+	public String getReason() {
+		return "Diversity of the population fell below " + threshold;
+	}
+}
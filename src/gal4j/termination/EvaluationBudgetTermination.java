@@ -0,0 +1,39 @@
+package gal4j.termination;
+
+import gal4j.listener.GenerationEvent;
+
+/**
+ * Termination policy satisfied when the number of fitness evaluations reaches a budget.
+ * The budget is checked after every generation, so the last generation may exceed it.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class EvaluationBudgetTermination implements ITermination {
+
+	/** Maximal number of fitness evaluations */
+	private final long maxEvaluations;
+
+	/**
+     * Constructs an EvaluationBudgetTermination.
+     *
+     * @param maxEvaluations the maximal number of fitness evaluations
+     */
+	public EvaluationBudgetTermination(long maxEvaluations) {
+		if (maxEvaluations <= 0) {
+			throw new IllegalArgumentException("Evaluation budget must be positive: " + maxEvaluations);
+		}
+		this.maxEvaluations = maxEvaluations;
+	}
+
+
+	@Override
+	public boolean isSatisfied(GenerationEvent event) {
+		return event.getEvaluations() >= maxEvaluations;
+	}
+
+	@Override
+	public String getReason() {
+		return "Budget of " + maxEvaluations + " fitness evaluations is spent";
+	}
+}
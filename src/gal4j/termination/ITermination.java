@@ -0,0 +1,55 @@
+package gal4j.termination;
+
+import gal4j.listener.GenerationEvent;
+
+/**
+ * Interface for termination policies of the genetic algorithm.
+ *
+ * The policy is asked after every evaluated generation whether the run should stop. Policies may keep state
+ * between generations, {@link #reset()} is called before every run. Policies are combined by
+ * {@link #and(ITermination)} and {@link #or(ITermination)}.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public interface ITermination {
+
+	/**
+	 * Decides whether the run should stop after the evaluated generation.
+	 *
+	 * @param event statistics of the evaluated generation
+	 * @return true if the run should stop
+	 */
+	public boolean isSatisfied(GenerationEvent event);
+
+	/**
+	 * @return description of the reason why the run stops, used once the policy is satisfied
+	 */
+	public String getReason();
+
+	/**
+	 * Clears the state collected in a previous run.
+	 */
+	public default void reset() {
+	}
+
+	/**
+	 * Combines this policy with another one, the run stops when both are satisfied.
+	 *
+	 * @param other the other policy
+	 * @return the combined policy
+	 */
+	public default ITermination and(ITermination other) {
+		return CompositeTermination.allOf(this, other);
+	}
+
+	/**
+	 * Combines this policy with another one, the run stops when any of them is satisfied.
+	 *
+	 * @param other the other policy
+	 * @return the combined policy
+	 */
+	public default ITermination or(ITermination other) {
+		return CompositeTermination.anyOf(this, other);
+	}
+}
@@ -0,0 +1,88 @@
+package gal4j.termination;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import gal4j.io.ICheckpointable;
+import gal4j.listener.GenerationEvent;
+
+/**
+ * Termination policy satisfied when the best fitness has not improved for a number of generations.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class StagnationTermination implements ITermination, ICheckpointable {
+
+	/** Number of generations without improvement which stops the run */
+	private final int generations;
+	/** Minimal increase of the best fitness counted as an improvement */
+	private final double minImprovement;
+
+	/** Best fitness seen so far */
+	private double best = Double.NEGATIVE_INFINITY;
+	/** Generations since the last improvement */
+	private int stagnant;
+
+	/**
+     * Constructs a StagnationTermination where any increase of the best fitness is an improvement.
+     *
+     * @param generations the number of generations without improvement which stops the run
+     */
+	public StagnationTermination(int generations) {
+		this(generations, 0);
+	}
+
+	/**
+     * Constructs a StagnationTermination.
+     *
+     * @param generations    the number of generations without improvement which stops the run
+     * @param minImprovement the minimal increase of the best fitness counted as an improvement
+     */
+	public StagnationTermination(int generations, double minImprovement) {
+		if (generations <= 0) {
+			throw new IllegalArgumentException("Number of generations must be positive: " + generations);
+		}
+		if (minImprovement < 0) {
+			throw new IllegalArgumentException("Minimal improvement must not be negative: " + minImprovement);
+		}
+		this.generations = generations;
+		this.minImprovement = minImprovement;
+	}
+
+
+	@Override
+	public boolean isSatisfied(GenerationEvent event) {
+		if (best == Double.NEGATIVE_INFINITY || event.getBestFitness() > best + minImprovement) {
+			best = event.getBestFitness();
+			stagnant = 0;
+		} else {
+			stagnant++;
+		}
+		return stagnant >= generations;
+	}
+
+	@Override
+	public String getReason() {
+		return "Best fitness has not improved for " + generations + " generations";
+	}
+
+	@Override
+	public void reset() {
+		best = Double.NEGATIVE_INFINITY;
+		stagnant = 0;
+	}
+
+	@Override
+	public void writeState(DataOutput out) throws IOException {
+		out.writeDouble(best);
+		out.writeInt(stagnant);
+	}
+
+	@Override
+	public void readState(DataInput in) throws IOException {
+		best = in.readDouble();
+		stagnant = in.readInt();
+	}
+}
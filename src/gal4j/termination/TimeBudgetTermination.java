@@ -0,0 +1,41 @@
+package gal4j.termination;
+
+import java.time.Duration;
+
+import gal4j.listener.GenerationEvent;
+
+/**
+ * Termination policy satisfied when the wall-clock time of the run reaches a budget.
+ * The budget is checked after every generation, so the last generation may exceed it.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class TimeBudgetTermination implements ITermination {
+
+	/** Maximal time of the run */
+	private final Duration budget;
+
+	/**
+     * Constructs a TimeBudgetTermination.
+     *
+     * @param budget the maximal time of the run
+     */
+	public TimeBudgetTermination(Duration budget) {
+		if (budget == null || budget.isNegative() || budget.isZero()) {
+			throw new IllegalArgumentException("Time budget must be positive: " + budget);
+		}
+		this.budget = budget;
+	}
+
+
+	@Override
+	public boolean isSatisfied(GenerationEvent event) {
+		return event.getElapsedNanos() >= budget.toNanos();
+	}
+
+	@Override
+	public String getReason() {
+		return "Time budget of " + budget.toMillis() + " ms is spent";
+	}
+}
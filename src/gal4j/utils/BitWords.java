@@ -0,0 +1,123 @@
+package gal4j.utils;
+
+import java.util.Random;
+
+/**
+ * Utility class for bitwise operators on genes packed into 64-bit words.
+ *
+ * Gene i is bit (i % 64) of word (i / 64), see {@link gal4j.chromosome.IBitPacked}.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public final class BitWords {
+
+	/** Below this probability single bits are sampled by geometric skips instead of building random words */
+	public static final double SPARSE_PROBABILITY = 1.0 / 32;
+
+	/** Number of words processed at once by fused crossover and mutation, 4096 genes fit easily in cache */
+	public static final int BLOCK_WORDS = 64;
+
+	/** Number of binary digits used to approximate a probability of random words */
+	private static final int PRECISION = 32;
+
+	private BitWords() {
+	}
+
+	/**
+	 * Returns a mask of the bits of the last word which belong to a chromosome of the given length.
+	 *
+	 * @param length the number of genes
+	 * @return the mask of valid bits of the last word
+	 */
+	public static long lastWordMask(int length) {
+		return -1L >>> -length;
+	}
+
+	/**
+	 * Copies the genes in range [from, to) from one packed array to another, other genes are kept.
+	 *
+	 * @param source the words to copy from
+	 * @param target the words to copy to
+	 * @param from   the first copied gene
+	 * @param to     the gene after the last copied one
+	 */
+	public static void copyRange(long[] source, long[] target, int from, int to) {
+		if (from >= to) {
+			return;
+		}
+		int first = from >>> 6;
+		int last = (to - 1) >>> 6;
+		long firstMask = -1L << from;
+		long lastMask = -1L >>> -to;
+
+		if (first == last) {
+			long mask = firstMask & lastMask;
+			target[first] = (target[first] & ~mask) | (source[first] & mask);
+			return;
+		}
+
+		target[first] = (target[first] & ~firstMask) | (source[first] & firstMask);
+		System.arraycopy(source, first + 1, target, first + 1, last - first - 1);
+		target[last] = (target[last] & ~lastMask) | (source[last] & lastMask);
+	}
+
+	/**
+	 * Encodes a probability as a binary fraction for {@link #randomWord(Random, long)}.
+	 * The probability is rounded to 32 binary digits and trailing zero digits are dropped,
+	 * so probabilities such as 0.5 or 0.25 need only one or two random words.
+	 *
+	 * @param probability the probability of a set bit in range [0, 1]
+	 * @return the encoded probability
+	 */
+	public static long encodeProbability(double probability) {
+		if (probability <= 0.0) {
+			return 0L;
+		}
+		if (probability >= 1.0) {
+			return 1L << PRECISION;
+		}
+		long fraction = Math.round(probability * (1L << PRECISION));
+		if (fraction == 0) {
+			return 0L;
+		}
+		if (fraction == 1L << PRECISION) {
+			return fraction;
+		}
+		// the number of digits is stored in the upper half
+		int digits = PRECISION;
+		while ((fraction & 1) == 0) {
+			fraction >>>= 1;
+			digits--;
+		}
+		return ((long) digits << PRECISION) | fraction;
+	}
+
+	/**
+	 * Returns a random word whose bits are set independently with the encoded probability.
+	 *
+	 * Random words are combined from the least significant binary digit of the probability,
+	 * OR for a one digit and AND for a zero digit, so every bit ends up set with probability 0.d1d2...dk.
+	 *
+	 * @param rand        the random number generator
+	 * @param probability the probability obtained from {@link #encodeProbability(double)}
+	 * @return the random word
+	 */
+	public static long randomWord(Random rand, long probability) {
+		if (probability == 1L << PRECISION) {
+			return -1L;
+		}
+		int digits = (int) (probability >>> PRECISION);
+		long fraction = probability & 0xFFFFFFFFL;
+		if (fraction == 0) {
+			return 0L;
+		}
+
+		long word = 0L;
+		for (int digit = 0; digit < digits; digit++) {
+			long random = rand.nextLong();
+			word = ((fraction >>> digit) & 1) != 0 ? word | random : word & random;
+		}
+		return word;
+	}
+}
@@ -20,6 +20,7 @@ import org.jfree.chart.renderer.category.BarRenderer;
 import org.jfree.chart.renderer.category.CategoryItemRenderer;
 import org.jfree.data.category.DefaultCategoryDataset;
 
+import gal4j.algorithm.RunStatistics;
 import gal4j.chromosome.AChromosome;
 
 /**
@@ -92,40 +93,21 @@ public class Charts {
      * Displays a line chart comparing average and maximum fitness
      * across all generations.
      *
-     * @param generations list of populations for each generation
+     * @param statistics statistics of the recorded generations
      */
-    public void showAverageVsMaxFitness(List<List<AChromosome<?>>> generations) {
+    public void showAverageVsMaxFitness(RunStatistics statistics) {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
         double minFirstGen = 0;
 
-        for (int generationIndex = 0; generationIndex < generations.size(); generationIndex++) {
-            List<AChromosome<?>> chromosomes = generations.get(generationIndex);
-
-            // Extract fitness values
-            double[] fitnessValues = chromosomes.stream()
-                    .mapToDouble(AChromosome::getFitness)
-                    .toArray();
-
-            // Calculate average fitness
-            double avgFitness = 0;
-            for (double fitness : fitnessValues) {
-                avgFitness += fitness;
-            }
-            avgFitness /= fitnessValues.length;
+        for (int generationIndex = 0; generationIndex < statistics.size(); generationIndex++) {
+            double avgFitness = statistics.getMean(generationIndex);
+            double maxFitness = statistics.getMax(generationIndex);
 
             // Store lower bound for y-axis based on first generation
             if (generationIndex == 0) {
                 minFirstGen = avgFitness - 0.1;
             }
 
-            // Find maximum fitness
-            double maxFitness = Double.NEGATIVE_INFINITY;
-            for (double fitness : fitnessValues) {
-                if (fitness > maxFitness) {
-                    maxFitness = fitness;
-                }
-            }
-
             // Add data to dataset
             dataset.addValue(avgFitness, "Average Fitness", "Generation " + (generationIndex + 1));
             dataset.addValue(maxFitness, "Maximum Fitness", "Generation " + (generationIndex + 1));
@@ -170,27 +152,14 @@ public class Charts {
      * Displays a line chart showing the progression of the maximum
      * fitness value over time (generations), representing convergence.
      *
-     * @param generations list of populations for each generation
+     * @param statistics statistics of the recorded generations
      */
-    public void showFitnessConvergenceGraph(List<List<AChromosome<?>>> generations) {
+    public void showFitnessConvergenceGraph(RunStatistics statistics) {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
         double minFirstGen = 0;
 
-        for (int generationIndex = 0; generationIndex < generations.size(); generationIndex++) {
-            List<AChromosome<?>> chromosomes = generations.get(generationIndex);
-
-            // Extract fitness values
-            double[] fitnessValues = chromosomes.stream()
-                    .mapToDouble(AChromosome::getFitness)
-                    .toArray();
-
-            // Determine maximum fitness
-            double maxFitness = Double.NEGATIVE_INFINITY;
-            for (double fitness : fitnessValues) {
-                if (fitness > maxFitness) {
-                    maxFitness = fitness;
-                }
-            }
+        for (int generationIndex = 0; generationIndex < statistics.size(); generationIndex++) {
+            double maxFitness = statistics.getMax(generationIndex);
 
             // Store lower bound for first generation
             if (generationIndex == 0) {
@@ -14,7 +14,7 @@ public class Checker {
 
     /**
      * Verifies the provided configuration and sets default values for any invalid parameters.
-     * Also prints a summary of the final configuration values.
+     * The summary of the final configuration values is printed by {@link gal4j.listener.ConsoleListener}.
      *
      * @param conf The configuration to check and adjust.
      */
@@ -45,25 +45,10 @@ public class Checker {
             conf.setThreads(def.getThreads());
         }
 
-        System.out.println("START");
-        System.out.println("-----------------------------");
-
-        System.out.printf("%-20s %d%n", "Population size:", conf.getPopulationSize());
-        System.out.printf("%-20s %d%n", "Generations:", conf.getGenetarions());
-        System.out.printf("%-20s %d%n", "Gen length:", conf.getGenLength());
-        System.out.printf("%-20s %.2f%n", "Mutation rate:", conf.getMutationRate());
-        System.out.printf("%-20s %.2f%n", "Selection rate:", conf.getSelectionRate());
-        System.out.printf("%-20s %b%n", "Multithread:", conf.isMultithread());
-        System.out.printf("%-20s %d%n", "Threads:", conf.getThreads());
-
-        if (conf.getDelta() > 0 && conf.getApproximateFinalFit() > 0) {
-            System.out.printf("%-20s %.2f%n", "Approximate fit:", conf.getApproximateFinalFit());
-            System.out.printf("%-20s %.2f%n", "Delta:", conf.getDelta());
-        } else {
+        if (conf.getDelta() <= 0 || conf.getApproximateFinalFit() <= 0) {
             conf.setDelta(0);
             conf.setApproximateFinalFit(-1);
         }
-        System.out.println("-----------------------------");
     }
 
     /**
@@ -92,18 +77,20 @@ public class Checker {
 
     /**
      * Validates that all required genetic operators are set in the engine.
-     * If second-level operators are defined, a default second operator rate is set in the config.
+     * Primary operators may be replaced by adaptive operator pools.
+     * If second-level operators are defined without a second operator rate, the default rate is set in the config.
+     * If a local search is set without a local search rate, the default rate is set.
      *
      * @param engine The engine whose operators are validated.
      * @param conf   The configuration to possibly adjust.
      * @throws NullPointerException if any primary operator is missing.
      */
     public void checkOperators(Engine engine, Config conf) {
-        if (engine.getMutationOperatorPR() == null) {
+        if (engine.getMutationOperatorPR() == null && engine.getMutationOperators() == null) {
             throw new NullPointerException("Mutation operator is missing.");
         }
 
-        if (engine.getCrossoverOperatorPR() == null) {
+        if (engine.getCrossoverOperatorPR() == null && engine.getCrossoverOperators() == null) {
             throw new NullPointerException("Crossover operator is missing.");
         }
 
@@ -111,8 +98,12 @@ public class Checker {
             throw new NullPointerException("Selection operator is missing.");
         }
 
-        if (engine.getCrossoverOperatorSC() != null || engine.getMutationOperatorSC() != null) {
-            conf.setSecondOperatorRate(0.25);
+        if ((engine.getCrossoverOperatorSC() != null || engine.getMutationOperatorSC() != null) && conf.getSecondOperatorRate() <= 0) {
+            conf.setSecondOperatorRate(new DefaultConfig().getSecondOperatorRate());
+        }
+
+        if (engine.getLocalSearch() != null && conf.getLocalSearchRate() <= 0) {
+            conf.setLocalSearchRate(new DefaultConfig().getLocalSearchRate());
         }
     }
 }
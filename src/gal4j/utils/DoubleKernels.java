@@ -0,0 +1,134 @@
+package gal4j.utils;
+
+/**
+ * Arithmetic kernels for crossovers of chromosomes with primitive double genes.
+ *
+ * When the module jdk.incubator.vector is present (the JVM is started with --add-modules jdk.incubator.vector),
+ * the kernels process several genes at once with the Vector API. Otherwise, or when the system property
+ * gal4j.vector is set to false, plain scalar loops are used. Both paths give the same results.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public final class DoubleKernels {
+
+	/** Whether the Vector API can be used in this JVM */
+	private static final boolean VECTOR_AVAILABLE = detectVector();
+
+	/** Whether the kernels use the Vector API */
+	private static boolean vector = VECTOR_AVAILABLE && !"false".equals(System.getProperty("gal4j.vector"));
+
+	private DoubleKernels() {
+	}
+
+	/**
+	 * Checks whether the incubator module is loaded and usable.
+	 */
+	private static boolean detectVector() {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+			return false;
+		}
+		try {
+			return DoubleVectorKernels.lanes() > 1;
+		} catch (LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if the kernels currently use the Vector API
+	 */
+	public static boolean isVectorized() {
+		return vector;
+	}
+
+	/**
+	 * Switches between the Vector API and scalar loops, mainly for comparing them.
+	 * The Vector API is used only if it is available.
+	 *
+	 * @param enabled true to use the Vector API when available
+	 */
+	public static void setVectorized(boolean enabled) {
+		vector = enabled && VECTOR_AVAILABLE;
+	}
+
+	/**
+	 * Averages the genes of two parents.
+	 *
+	 * @param a      genes of the first parent
+	 * @param b      genes of the second parent
+	 * @param out    genes of the offspring, may be the same array as a or b
+	 * @param length number of genes
+	 */
+	public static void average(double[] a, double[] b, double[] out, int length) {
+		int from = vector ? DoubleVectorKernels.average(a, b, out, length) : 0;
+		for (int i = from; i < length; i++) {
+			out[i] = (a[i] + b[i]) / 2.0;
+		}
+	}
+
+	/**
+	 * Takes the gene farther from the average of both parents, the larger one if the distances are equal.
+	 *
+	 * @param a      genes of the first parent
+	 * @param b      genes of the second parent
+	 * @param out    genes of the offspring, may be the same array as a or b
+	 * @param length number of genes
+	 */
+	public static void eccentric(double[] a, double[] b, double[] out, int length) {
+		int from = vector ? DoubleVectorKernels.eccentric(a, b, out, length) : 0;
+		for (int i = from; i < length; i++) {
+			double average = (a[i] + b[i]) / 2;
+			double distance1 = Math.abs(a[i] - average);
+			double distance2 = Math.abs(b[i] - average);
+			if (distance1 > distance2) {
+				out[i] = a[i];
+			} else if (distance1 == distance2) {
+				out[i] = a[i] >= b[i] ? a[i] : b[i];
+			} else {
+				out[i] = b[i];
+			}
+		}
+	}
+
+	/**
+	 * Blend crossover (BLX-alpha). Every gene is drawn from the interval between the parent genes
+	 * extended by alpha times its width on both sides, then clamped to [min, max].
+	 *
+	 * @param a      genes of the first parent
+	 * @param b      genes of the second parent
+	 * @param random uniform random numbers in [0, 1), one per gene
+	 * @param out    genes of the offspring, may be the same array as a or b
+	 * @param length number of genes
+	 * @param alpha  extension of the interval
+	 * @param min    minimum value of a gene
+	 * @param max    maximum value of a gene
+	 */
+	public static void blend(double[] a, double[] b, double[] random, double[] out, int length, double alpha, double min, double max) {
+		int from = vector ? DoubleVectorKernels.blend(a, b, random, out, length, alpha, min, max) : 0;
+		double scale = 1.0 + 2.0 * alpha;
+		for (int i = from; i < length; i++) {
+			double low = Math.min(a[i], b[i]);
+			double width = Math.max(a[i], b[i]) - low;
+			double gene = low - alpha * width + random[i] * scale * width;
+			out[i] = Math.min(max, Math.max(min, gene));
+		}
+	}
+
+	/**
+	 * Arithmetic crossover, every gene is lambda * a + (1 - lambda) * b.
+	 *
+	 * @param a      genes of the first parent
+	 * @param b      genes of the second parent
+	 * @param out    genes of the offspring, may be the same array as a or b
+	 * @param length number of genes
+	 * @param lambda weight of the first parent
+	 */
+	public static void arithmetic(double[] a, double[] b, double[] out, int length, double lambda) {
+		int from = vector ? DoubleVectorKernels.arithmetic(a, b, out, length, lambda) : 0;
+		double other = 1.0 - lambda;
+		for (int i = from; i < length; i++) {
+			out[i] = lambda * a[i] + other * b[i];
+		}
+	}
+}
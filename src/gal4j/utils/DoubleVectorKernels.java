@@ -0,0 +1,82 @@
+package gal4j.utils;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementations of {@link DoubleKernels}. This class is loaded only when the module
+ * jdk.incubator.vector is present. Every method processes whole vectors and returns the index of the
+ * first gene left for the scalar loop.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+final class DoubleVectorKernels {
+
+	/** Preferred vector shape of the platform */
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	private DoubleVectorKernels() {
+	}
+
+	static int lanes() {
+		return SPECIES.length();
+	}
+
+	static int average(double[] a, double[] b, double[] out, int length) {
+		int bound = SPECIES.loopBound(length);
+		for (int i = 0; i < bound; i += SPECIES.length()) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+			va.add(vb).div(2.0).intoArray(out, i);
+		}
+		return bound;
+	}
+
+	static int eccentric(double[] a, double[] b, double[] out, int length) {
+		int bound = SPECIES.loopBound(length);
+		for (int i = 0; i < bound; i += SPECIES.length()) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+			DoubleVector average = va.add(vb).div(2.0);
+			DoubleVector distance1 = va.sub(average).abs();
+			DoubleVector distance2 = vb.sub(average).abs();
+
+			VectorMask<Double> farther = distance1.compare(VectorOperators.GT, distance2);
+			VectorMask<Double> equal = distance1.compare(VectorOperators.EQ, distance2);
+			DoubleVector larger = vb.blend(va, va.compare(VectorOperators.GE, vb));
+
+			vb.blend(larger, equal).blend(va, farther).intoArray(out, i);
+		}
+		return bound;
+	}
+
+	static int blend(double[] a, double[] b, double[] random, double[] out, int length, double alpha, double min, double max) {
+		int bound = SPECIES.loopBound(length);
+		double scale = 1.0 + 2.0 * alpha;
+		for (int i = 0; i < bound; i += SPECIES.length()) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+			DoubleVector vr = DoubleVector.fromArray(SPECIES, random, i);
+
+			DoubleVector low = va.min(vb);
+			DoubleVector width = va.max(vb).sub(low);
+			DoubleVector gene = low.sub(width.mul(alpha)).add(vr.mul(scale).mul(width));
+			gene.max(min).min(max).intoArray(out, i);
+		}
+		return bound;
+	}
+
+	static int arithmetic(double[] a, double[] b, double[] out, int length, double lambda) {
+		int bound = SPECIES.loopBound(length);
+		double other = 1.0 - lambda;
+		for (int i = 0; i < bound; i += SPECIES.length()) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+			va.mul(lambda).add(vb.mul(other)).intoArray(out, i);
+		}
+		return bound;
+	}
+}
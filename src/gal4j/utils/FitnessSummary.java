@@ -0,0 +1,122 @@
+package gal4j.utils;
+
+/**
+ * Incremental summary of fitness values: count, best, worst, mean and variance.
+ *
+ * Values are added one by one during the evaluation (Welford's algorithm), so no second pass over the population
+ * is needed. Summaries computed by different threads are combined by {@link #merge(FitnessSummary)}.
+ * The summary is not thread safe, every thread uses its own one.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class FitnessSummary {
+
+	/** Number of added values */
+	private long count;
+	/** Mean of the added values */
+	private double mean;
+	/** Sum of squared differences from the mean */
+	private double squares;
+	/** Highest added value */
+	private double best = Double.NEGATIVE_INFINITY;
+	/** Lowest added value */
+	private double worst = Double.POSITIVE_INFINITY;
+
+	/**
+     * Adds one fitness value.
+     *
+     * @param fitness the fitness value
+     */
+	public void add(double fitness) {
+		count++;
+		double delta = fitness - mean;
+		mean += delta / count;
+		squares += delta * (fitness - mean);
+		if (fitness > best) {
+			best = fitness;
+		}
+		if (fitness < worst) {
+			worst = fitness;
+		}
+	}
+
+	/**
+     * Adds all values of another summary (Chan's parallel algorithm).
+     *
+     * @param other the summary to add
+     */
+	public void merge(FitnessSummary other) {
+		if (other.count == 0) {
+			return;
+		}
+		if (count == 0) {
+			count = other.count;
+			mean = other.mean;
+			squares = other.squares;
+			best = other.best;
+			worst = other.worst;
+			return;
+		}
+		long total = count + other.count;
+		double delta = other.mean - mean;
+		mean += delta * other.count / total;
+		squares += other.squares + delta * delta * ((double) count * other.count / total);
+		count = total;
+		best = Math.max(best, other.best);
+		worst = Math.min(worst, other.worst);
+	}
+
+	/**
+     * Removes all values.
+     */
+	public void clear() {
+		count = 0;
+		mean = 0;
+		squares = 0;
+		best = Double.NEGATIVE_INFINITY;
+		worst = Double.POSITIVE_INFINITY;
+	}
+
+	/**
+     * @return the number of added values
+     */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+     * @return the mean of the values, 0 if there are none
+     */
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+     * @return the population variance of the values, 0 if there are none
+     */
+	public double getVariance() {
+		return count > 0 ? squares / count : 0;
+	}
+
+	/**
+     * @return the population standard deviation of the values
+     */
+	public double getStdDev() {
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+     * @return the highest value, negative infinity if there are none
+     */
+	public double getBest() {
+		return best;
+	}
+
+	/**
+     * @return the lowest value, positive infinity if there are none
+     */
+	public double getWorst() {
+		return worst;
+	}
+}
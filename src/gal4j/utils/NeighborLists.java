@@ -0,0 +1,122 @@
+package gal4j.utils;
+
+import gal4j.algorithm.IEdgeCost;
+
+/**
+ * Candidate lists holding the k nearest neighbors of every node of a tour problem.
+ * 
+ * Operators for large tour problems consider only these candidates instead of all nodes,
+ * which turns O(n) searches into O(k). The lists are computed once in O(n^2 log k).
+ * 
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class NeighborLists {
+
+	/** Number of nodes */
+	private final int size;
+	/** Number of neighbors of every node */
+	private final int count;
+	/** Neighbors of node i are stored at [i * count, (i + 1) * count), nearest first */
+	private final int[] neighbors;
+
+	/**
+	 * Computes the nearest neighbors of all nodes.
+	 * 
+	 * @param cost  the cost of edges between nodes
+	 * @param size  the number of nodes
+	 * @param count the number of neighbors kept for every node
+	 */
+	public NeighborLists(IEdgeCost cost, int size, int count) {
+		this.size = size;
+		this.count = Math.max(0, Math.min(count, size - 1));
+		this.neighbors = new int[size * this.count];
+
+		double[] heapCost = new double[this.count];
+		int[] heapNode = new int[this.count];
+
+		for (int node = 0; node < size; node++) {
+			// max-heap of the nearest nodes found so far, the farthest one is at the root
+			int heapSize = 0;
+			for (int other = 0; other < size && this.count > 0; other++) {
+				if (other == node) {
+					continue;
+				}
+				double c = cost.cost(node, other);
+				if (heapSize < this.count) {
+					int child = heapSize++;
+					while (child > 0) {
+						int parent = (child - 1) >>> 1;
+						if (heapCost[parent] >= c) {
+							break;
+						}
+						heapCost[child] = heapCost[parent];
+						heapNode[child] = heapNode[parent];
+						child = parent;
+					}
+					heapCost[child] = c;
+					heapNode[child] = other;
+				} else if (c < heapCost[0]) {
+					siftDown(heapCost, heapNode, heapSize, c, other);
+				}
+			}
+
+			// removing the farthest first fills the list from its end
+			for (int last = heapSize - 1; last >= 0; last--) {
+				neighbors[node * this.count + last] = heapNode[0];
+				siftDown(heapCost, heapNode, last, heapCost[last], heapNode[last]);
+			}
+		}
+	}
+
+	/**
+	 * Places the given element at the root of the max-heap and moves it down to its position.
+	 */
+	private static void siftDown(double[] heapCost, int[] heapNode, int size, double c, int node) {
+		int parent = 0;
+		while (true) {
+			int child = 2 * parent + 1;
+			if (child >= size) {
+				break;
+			}
+			if (child + 1 < size && heapCost[child + 1] > heapCost[child]) {
+				child++;
+			}
+			if (heapCost[child] <= c) {
+				break;
+			}
+			heapCost[parent] = heapCost[child];
+			heapNode[parent] = heapNode[child];
+			parent = child;
+		}
+		if (size > 0) {
+			heapCost[parent] = c;
+			heapNode[parent] = node;
+		}
+	}
+
+	/**
+	 * Returns the j-th nearest neighbor of the node.
+	 * 
+	 * @param node the node
+	 * @param j    order of the neighbor, 0 is the nearest
+	 * @return the neighbor
+	 */
+	public int get(int node, int j) {
+		return neighbors[node * count + j];
+	}
+
+	/**
+	 * @return the number of neighbors of every node
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int getSize() {
+		return size;
+	}
+}
@@ -0,0 +1,53 @@
+package gal4j.utils;
+
+import java.util.Random;
+
+/**
+ * Utility class for sampling rare events with geometric skips.
+ *
+ * Instead of drawing one random number per position and comparing it with a small probability p,
+ * the distance to the next successful position is drawn directly from the geometric distribution.
+ * Only successful positions cost a random draw, so a chromosome of n genes needs about n * p + 1 draws instead of n.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public final class Sampling {
+
+	private Sampling() {
+	}
+
+	/**
+	 * Draws the number of failed positions before the next success, each position succeeds independently with the given probability.
+	 *
+	 * @param rand        the random number generator
+	 * @param probability the probability of success of every position
+	 * @return the number of skipped positions, Integer.MAX_VALUE if the probability is not positive
+	 */
+	public static int geometricSkip(Random rand, double probability) {
+		if (probability >= 1.0) {
+			return 0;
+		}
+		if (!(probability > 0.0)) {
+			return Integer.MAX_VALUE;
+		}
+
+		// 1 - nextDouble() lies in (0, 1], so the logarithm is finite
+		double skip = Math.floor(Math.log(1.0 - rand.nextDouble()) / Math.log1p(-probability));
+		return skip >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) skip;
+	}
+
+	/**
+	 * Returns the next successful position after the given one. Positions can be iterated by
+	 * {@code for (int i = nextIndex(rand, p, -1); i < length; i = nextIndex(rand, p, i))}.
+	 *
+	 * @param rand        the random number generator
+	 * @param probability the probability of success of every position
+	 * @param index       the last successful position, -1 before the first one
+	 * @return the next successful position, Integer.MAX_VALUE if there is none
+	 */
+	public static int nextIndex(Random rand, double probability, int index) {
+		long next = (long) index + 1 + geometricSkip(rand, probability);
+		return next >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) next;
+	}
+}
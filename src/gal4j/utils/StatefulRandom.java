@@ -0,0 +1,91 @@
+package gal4j.utils;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Random number generator whose whole state can be read and restored, so a run can be resumed with the same stream.
+ *
+ * The generator is the linear congruential generator of {@link Random}, for the same seed it produces
+ * the same numbers. Unlike Random, {@link #nextGaussian()} keeps no second cached value,
+ * so the 48 bit seed is the whole state. The generator is not thread safe.
+ *
+ * @author Filip Křenek
+ * @version 1.0
+ */
+public class StatefulRandom extends Random {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final long MULTIPLIER = 0x5DEECE66DL;
+	private static final long ADDEND = 0xBL;
+	private static final long MASK = (1L << 48) - 1;
+
+	/** Source of distinct default seeds */
+	private static final AtomicLong SEEDS = new AtomicLong(8682522807148012L);
+
+	/** Current 48 bit seed, set by the constructor of Random through {@link #setSeed(long)} */
+	private long state;
+
+	/**
+     * Constructs a generator with a seed distinct from other generators.
+     */
+	public StatefulRandom() {
+		this(SEEDS.getAndAdd(1181783497276652981L) ^ System.nanoTime());
+	}
+
+	/**
+     * Constructs a generator with the given seed.
+     *
+     * @param seed the initial seed
+     */
+	public StatefulRandom(long seed) {
+		super(seed);
+	}
+
+
+	@Override
+	public void setSeed(long seed) {
+		state = (seed ^ MULTIPLIER) & MASK;
+	}
+
+	@Override
+	protected int next(int bits) {
+		state = (state * MULTIPLIER + ADDEND) & MASK;
+		return (int) (state >>> (48 - bits));
+	}
+
+	/**
+     * Draws a normally distributed value by the polar method, the second value of the pair is discarded.
+     *
+     * @return a value from the standard normal distribution
+     */
+	@Override
+	public double nextGaussian() {
+		double v1;
+		double v2;
+		double s;
+		do {
+			v1 = 2 * nextDouble() - 1;
+			v2 = 2 * nextDouble() - 1;
+			s = v1 * v1 + v2 * v2;
+		} while (s >= 1 || s == 0);
+		return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+	}
+
+	/**
+     * @return the current state of the generator
+     */
+	public long getState() {
+		return state;
+	}
+
+	/**
+     * Restores a state obtained from {@link #getState()}.
+     *
+     * @param state the state of the generator
+     */
+	public void setState(long state) {
+		this.state = state & MASK;
+	}
+}